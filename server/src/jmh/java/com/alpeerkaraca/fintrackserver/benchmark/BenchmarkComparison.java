@@ -0,0 +1,97 @@
+package com.alpeerkaraca.fintrackserver.benchmark;
+
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Compares two JMH JSON result files (throughput mode, run with {@code -prof gc}) and exits with status 1 when a
+ * benchmark lost more throughput or allocates more per operation than allowed, so CI can block the merge.
+ * <p>
+ * Usage: {@code BenchmarkComparison <baseline.json> <current.json> <maxThroughputDropPercent> <maxAllocationIncreasePercent>}
+ */
+public final class BenchmarkComparison {
+    // Allocation metric of the GC profiler; older JMH versions prefix secondary metric names with a middle dot
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // Below this many bytes per operation allocation differences are noise
+    private static final double MIN_COMPARED_BYTES_PER_OP = 64;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 4 || !Files.isRegularFile(Path.of(args[0])) || !Files.isRegularFile(Path.of(args[1]))) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> "
+                    + "<maxThroughputDropPercent> <maxAllocationIncreasePercent>");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+        double maxThroughputDrop = Double.parseDouble(args[2]);
+        double maxAllocationIncrease = Double.parseDouble(args[3]);
+
+        List<String> regressions = new ArrayList<>();
+        current.forEach((benchmark, now) -> {
+            Result before = baseline.get(benchmark);
+            if (before == null) {
+                System.out.printf("%s: no baseline%n", benchmark);
+                return;
+            }
+            double throughputChange = percentChange(before.opsPerSecond(), now.opsPerSecond());
+            System.out.printf("%s: %.1f -> %.1f ops/s (%+.1f%%), %.0f -> %.0f B/op%n", benchmark,
+                    before.opsPerSecond(), now.opsPerSecond(), throughputChange, before.bytesPerOp(), now.bytesPerOp());
+
+            if (throughputChange < -maxThroughputDrop) {
+                regressions.add("%s: throughput dropped by %.1f%%".formatted(benchmark, -throughputChange));
+            }
+            if (!Double.isNaN(before.bytesPerOp()) && !Double.isNaN(now.bytesPerOp())
+                    && Math.max(before.bytesPerOp(), now.bytesPerOp()) >= MIN_COMPARED_BYTES_PER_OP) {
+                double allocationChange = percentChange(Math.max(before.bytesPerOp(), 1), now.bytesPerOp());
+                if (allocationChange > maxAllocationIncrease) {
+                    regressions.add("%s: allocation per operation grew by %.1f%%".formatted(benchmark, allocationChange));
+                }
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            regressions.forEach(System.err::println);
+            System.exit(1);
+        }
+        System.out.println("No benchmark regressions");
+    }
+
+    private static Map<String, Result> read(Path file) {
+        List<Map<String, Object>> runs = JsonMapper.builder().build()
+                .readValue(file.toFile(), new TypeReference<List<Map<String, Object>>>() {
+                });
+        Map<String, Result> results = new TreeMap<>();
+        for (Map<String, Object> run : runs) {
+            Object params = run.get("params");
+            String benchmark = run.get("benchmark") + (params == null ? "" : new TreeMap<>((Map<?, ?>) params).toString());
+            double bytesPerOp = Double.NaN;
+            if (run.get("secondaryMetrics") instanceof Map<?, ?> secondary) {
+                for (Map.Entry<?, ?> metric : secondary.entrySet()) {
+                    if (metric.getKey().toString().replace("\u00B7", "").equals(ALLOCATION_METRIC)) {
+                        bytesPerOp = score(metric.getValue());
+                    }
+                }
+            }
+            results.put(benchmark, new Result(score(run.get("primaryMetric")), bytesPerOp));
+        }
+        return results;
+    }
+
+    private static double score(Object metric) {
+        return ((Number) ((Map<?, ?>) metric).get("score")).doubleValue();
+    }
+
+    private static double percentChange(double before, double now) {
+        return (now - before) / before * 100;
+    }
+
+    private record Result(double opsPerSecond, double bytesPerOp) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.alpeerkaraca.fintrackserver.benchmark;
+
+import com.alpeerkaraca.fintrackserver.dto.TransactionRow;
+import com.alpeerkaraca.fintrackserver.model.Transaction;
+import com.alpeerkaraca.fintrackserver.model.UserProfile;
+import com.alpeerkaraca.fintrackserver.repository.MonthlyRollupRepository;
+import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
+import com.alpeerkaraca.fintrackserver.repository.UserProfileRepository;
+import com.alpeerkaraca.fintrackserver.service.BudgetService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code BudgetService.calculateCreditCardUsed} (single card payments of the month plus active installments)
+ * against H2 holding the given history. H2 is not PostgreSQL, so compare results of this benchmark only with each
+ * other; they show how the query cost grows with the history, not production latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CreditCardUsageBenchmark {
+    private static final int LOAD_CHUNK_SIZE = 5_000;
+    private static final Integer MONTH = SyntheticData.LAST_MONTH.getMonthValue();
+    private static final Integer YEAR = SyntheticData.LAST_MONTH.getYear();
+
+    @Param({"10000", "100000", "1000000"})
+    private int transactions;
+
+    private AnnotationConfigApplicationContext context;
+    private BudgetService budgetService;
+    private MethodHandle calculateCreditCardUsed;
+    private UUID userId;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        context = new AnnotationConfigApplicationContext(BenchmarkJpaConfig.class);
+        TransactionRepository transactionRepository = context.getBean(TransactionRepository.class);
+        UserProfileRepository userProfileRepository = context.getBean(UserProfileRepository.class);
+
+        UserProfile user = userProfileRepository.save(UserProfile.builder()
+                .username("benchmark")
+                .email("benchmark@fintrack.com")
+                .password("not-a-real-password-hash")
+                .netSalaryUsd(BigDecimal.valueOf(3000))
+                .creditCardLimitTry(BigDecimal.valueOf(100_000))
+                .build());
+        userId = user.getId();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<TransactionRow> rows = SyntheticData.transactionRows(transactions);
+        for (int from = 0; from < rows.size(); from += LOAD_CHUNK_SIZE) {
+            List<Transaction> chunk = rows.subList(from, Math.min(from + LOAD_CHUNK_SIZE, rows.size())).stream()
+                    .map(row -> SyntheticData.transaction(user, row))
+                    .toList();
+            transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(chunk));
+        }
+
+        budgetService = new BudgetService(null, null, transactionRepository,
+                context.getBean(MonthlyRollupRepository.class), userProfileRepository, null, null);
+        calculateCreditCardUsed = MethodHandles.privateLookupIn(BudgetService.class, MethodHandles.lookup())
+                .findVirtual(BudgetService.class, "calculateCreditCardUsed",
+                        MethodType.methodType(BigDecimal.class, UUID.class, Integer.class, Integer.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal creditCardUsed() throws Throwable {
+        return (BigDecimal) calculateCreditCardUsed.invoke(budgetService, userId, MONTH, YEAR);
+    }
+}
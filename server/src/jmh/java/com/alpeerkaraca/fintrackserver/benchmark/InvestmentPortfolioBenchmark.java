@@ -0,0 +1,78 @@
+package com.alpeerkaraca.fintrackserver.benchmark;
+
+import com.alpeerkaraca.fintrackserver.dto.InvestmentAssetDto;
+import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.InvestmentAsset;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+import com.alpeerkaraca.fintrackserver.repository.InvestmentAssetRepository;
+import com.alpeerkaraca.fintrackserver.service.InvestmentService;
+import com.alpeerkaraca.fintrackserver.service.MarketSnapshotService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Values a portfolio with {@code InvestmentService.getUserPortfolio}, i.e. the price grouping and one
+ * {@code convertToDto} per asset. Prices come from memory, as they would from a warm price cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvestmentPortfolioBenchmark {
+    @Param({"1", "50", "500"})
+    private int assets;
+
+    private InvestmentService investmentService;
+    private final UUID userId = UUID.randomUUID();
+
+    @Setup
+    public void setUp() {
+        List<InvestmentAsset> portfolio = SyntheticData.assets(assets);
+        InvestmentAssetRepository repository = Stubs.of(InvestmentAssetRepository.class,
+                Map.of("findByUserProfileId", args -> portfolio));
+        investmentService = new InvestmentService(repository, null,
+                new InMemoryMarketSnapshotService(SyntheticData.prices(portfolio)), null);
+    }
+
+    @Benchmark
+    public List<InvestmentAssetDto> userPortfolio() {
+        return investmentService.getUserPortfolio(userId);
+    }
+
+    private static final class InMemoryMarketSnapshotService extends MarketSnapshotService {
+        private static final InvestmentExternalDto USD_TRY =
+                new InvestmentExternalDto("USD/TRY", new BigDecimal("42.5000"), SyntheticData.PRICED_AT);
+
+        private final Map<String, InvestmentExternalDto> prices;
+
+        InMemoryMarketSnapshotService(Map<String, InvestmentExternalDto> prices) {
+            super(null);
+            this.prices = prices;
+        }
+
+        @Override
+        public InvestmentExternalDto getUsdToTryInfo() {
+            return USD_TRY;
+        }
+
+        @Override
+        public InvestmentExternalDto getInfo(AssetType type, String symbol, StockMarket market) {
+            return prices.get(symbol);
+        }
+
+        @Override
+        public Map<String, InvestmentExternalDto> getInfos(AssetType type, Collection<String> symbols, StockMarket market) {
+            Map<String, InvestmentExternalDto> infos = new HashMap<>();
+            for (String symbol : symbols) {
+                infos.put(symbol, prices.get(symbol));
+            }
+            return infos;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.alpeerkaraca.fintrackserver.benchmark;
+
+import com.alpeerkaraca.fintrackserver.dto.MonthlyCategoryTotal;
+import com.alpeerkaraca.fintrackserver.dto.frontend.ReportSummaryResponse;
+import com.alpeerkaraca.fintrackserver.service.MonthlyRollupService;
+import com.alpeerkaraca.fintrackserver.service.ReportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a three-year report with {@code ReportService.getReportSummary} from the rollup rows the given history
+ * produces. The number of rollup rows is bounded by months x categories x payment methods, so throughput should not
+ * fall as the history grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReportBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int transactions;
+
+    private ReportService reportService;
+    private final UUID userId = UUID.randomUUID();
+
+    @Setup
+    public void setUp() {
+        List<MonthlyCategoryTotal> totals = SyntheticData.monthlyTotals(SyntheticData.transactionRows(transactions));
+        reportService = new ReportService(new MonthlyRollupService(null, null) {
+            @Override
+            public List<MonthlyCategoryTotal> totalsBetween(UUID userId, LocalDate startDate, LocalDate endDate) {
+                return totals;
+            }
+        });
+    }
+
+    @Benchmark
+    public ReportSummaryResponse reportSummary() {
+        return reportService.getReportSummary(userId, SyntheticData.firstDay(), SyntheticData.lastDay());
+    }
+}
@@ -0,0 +1,33 @@
+package com.alpeerkaraca.fintrackserver.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal interface stubs for the benchmarks. Unlike mocks they record nothing, so they add no allocations of their
+ * own to the measured code beyond the proxy call.
+ */
+final class Stubs {
+    private Stubs() {
+    }
+
+    /**
+     * @param answers results by method name, computed from the call's arguments; any other method throws
+     */
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> "Stub " + type.getSimpleName();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        });
+        return type.cast(stub);
+    }
+}
@@ -0,0 +1,162 @@
+package com.alpeerkaraca.fintrackserver.benchmark;
+
+import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
+import com.alpeerkaraca.fintrackserver.dto.MonthlyCategoryTotal;
+import com.alpeerkaraca.fintrackserver.dto.TransactionRow;
+import com.alpeerkaraca.fintrackserver.model.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic fixtures for the benchmarks: the same size and seed always produce the same data, so results of two
+ * commits are comparable.
+ */
+final class SyntheticData {
+    static final long SEED = 42L;
+    static final YearMonth LAST_MONTH = YearMonth.of(2025, 12);
+    static final int HISTORY_MONTHS = 36;
+    static final Instant PRICED_AT = Instant.parse("2025-12-31T12:00:00Z");
+
+    private static final Category[] EXPENSE_CATEGORIES = Arrays.stream(Category.values())
+            .filter(category -> category != Category.SALARY)
+            .toArray(Category[]::new);
+    private static final StockMarket[] STOCK_MARKETS = {StockMarket.BIST, StockMarket.NASDAQ, StockMarket.NYSE};
+
+    private SyntheticData() {
+    }
+
+    static LocalDate firstDay() {
+        return LAST_MONTH.minusMonths(HISTORY_MONTHS - 1L).atDay(1);
+    }
+
+    static LocalDate lastDay() {
+        return LAST_MONTH.atEndOfMonth();
+    }
+
+    /**
+     * One user's history over {@value #HISTORY_MONTHS} months: about 10% income, 10% card installments and the rest
+     * single expenses spread over all categories and payment methods.
+     */
+    static List<TransactionRow> transactionRows(int count) {
+        Random random = new Random(SEED);
+        List<TransactionRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            YearMonth month = LAST_MONTH.minusMonths(random.nextInt(HISTORY_MONTHS));
+            LocalDate date = month.atDay(1 + random.nextInt(28));
+            BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(500_000), 2);
+            int kind = random.nextInt(10);
+            if (kind == 0) {
+                rows.add(new TransactionRow(new UUID(SEED, i), "Salary " + month, amount.multiply(BigDecimal.TEN), date,
+                        Category.SALARY, TransactionType.INCOME, PaymentMethod.TRANSFER, false,
+                        null, null, null, null));
+            } else if (kind == 1) {
+                int months = 2 + random.nextInt(11);
+                BigDecimal total = amount.multiply(BigDecimal.valueOf(months));
+                rows.add(new TransactionRow(new UUID(SEED, i), "Installment purchase " + i,
+                        total.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP), date,
+                        EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)], TransactionType.EXPENSE,
+                        PaymentMethod.CARD, true, total, months, month.toString(),
+                        month.plusMonths(months - 1L).toString()));
+            } else {
+                rows.add(new TransactionRow(new UUID(SEED, i), "Payment " + i, amount, date,
+                        EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)], TransactionType.EXPENSE,
+                        PaymentMethod.values()[random.nextInt(PaymentMethod.values().length)], false,
+                        null, null, null, null));
+            }
+        }
+        return rows;
+    }
+
+    static Transaction transaction(UserProfile userProfile, TransactionRow row) {
+        return Transaction.builder()
+                .userProfile(userProfile)
+                .title(row.title())
+                .amountTry(row.amountTry())
+                .date(row.date())
+                .category(row.category())
+                .transactionType(row.transactionType())
+                .paymentMethod(row.paymentMethod())
+                .isInstallment(row.isInstallment())
+                .installmentMeta(Boolean.TRUE.equals(row.isInstallment())
+                        ? new InstallmentMeta(row.installmentTotalTry(), row.installmentMonths(),
+                        row.installmentStartMonth(), null)
+                        : null)
+                .build();
+    }
+
+    /**
+     * The rows {@code monthly_rollups} would hold for the given history: one per month, type, category and payment
+     * method.
+     */
+    static List<MonthlyCategoryTotal> monthlyTotals(List<TransactionRow> rows) {
+        record Bucket(YearMonth month, TransactionType type, Category category, PaymentMethod paymentMethod) {
+        }
+        Map<Bucket, List<TransactionRow>> buckets = rows.stream().collect(Collectors.groupingBy(
+                row -> new Bucket(YearMonth.from(row.date()), row.transactionType(), row.category(), row.paymentMethod())));
+        List<MonthlyCategoryTotal> totals = new ArrayList<>(buckets.size());
+        buckets.forEach((bucket, bucketRows) -> totals.add(new MonthlyCategoryTotal(
+                bucket.month().getYear(),
+                bucket.month().getMonthValue(),
+                bucket.type(),
+                bucket.category(),
+                bucketRows.stream().map(TransactionRow::amountTry).reduce(BigDecimal.ZERO, BigDecimal::add),
+                (long) bucketRows.size())));
+        return totals;
+    }
+
+    /**
+     * A portfolio mixing TRY and USD stocks, TEFAS funds and precious metals.
+     */
+    static List<InvestmentAsset> assets(int count) {
+        Random random = new Random(SEED);
+        List<InvestmentAsset> assets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AssetType type;
+            StockMarket market;
+            switch (i % 4) {
+                case 0, 1 -> {
+                    type = AssetType.STOCK;
+                    market = STOCK_MARKETS[random.nextInt(STOCK_MARKETS.length)];
+                }
+                case 2 -> {
+                    type = AssetType.FUND;
+                    market = StockMarket.TEFAS;
+                }
+                default -> {
+                    type = AssetType.GOLD_SILVER;
+                    market = StockMarket.OTHER;
+                }
+            }
+            BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(10_000), 2);
+            BigDecimal avgCost = BigDecimal.valueOf(100 + random.nextInt(1_000_000), 4);
+            assets.add(InvestmentAsset.builder()
+                    .id(new UUID(SEED, i))
+                    .symbol("SYM" + i)
+                    .name("Asset " + i)
+                    .quantity(quantity)
+                    .avgCostOriginal(avgCost)
+                    .purchaseCurrency(market.getCurrency())
+                    .totalCostTry(quantity.multiply(avgCost).setScale(2, RoundingMode.HALF_UP))
+                    .type(type)
+                    .stockMarket(market)
+                    .build());
+        }
+        return assets;
+    }
+
+    static Map<String, InvestmentExternalDto> prices(List<InvestmentAsset> assets) {
+        Random random = new Random(SEED);
+        Map<String, InvestmentExternalDto> prices = new HashMap<>();
+        for (InvestmentAsset asset : assets) {
+            prices.put(asset.getSymbol(), new InvestmentExternalDto(asset.getName(),
+                    BigDecimal.valueOf(100 + random.nextInt(1_000_000), 4), PRICED_AT));
+        }
+        return prices;
+    }
+}
@@ -0,0 +1,55 @@
+package com.alpeerkaraca.fintrackserver.benchmark;
+
+import com.alpeerkaraca.fintrackserver.dto.TransactionDto;
+import com.alpeerkaraca.fintrackserver.dto.TransactionFilter;
+import com.alpeerkaraca.fintrackserver.dto.TransactionRow;
+import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
+import com.alpeerkaraca.fintrackserver.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a user's rows to DTOs through {@code TransactionService.getFilteredTransactions}, which runs
+ * {@code applyFilter} on every row. The repository returns the whole history, so the measurement is the Java work
+ * per listing, not the query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransactionListingBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int transactions;
+
+    private TransactionService transactionService;
+    private final UUID userId = UUID.randomUUID();
+    private final TransactionFilter monthFilter = TransactionFilter.builder()
+            .month(SyntheticData.LAST_MONTH.getMonthValue())
+            .year(SyntheticData.LAST_MONTH.getYear())
+            .expanded(true)
+            .build();
+    private final TransactionFilter noFilter = TransactionFilter.builder().build();
+
+    @Setup
+    public void setUp() {
+        List<TransactionRow> rows = SyntheticData.transactionRows(transactions);
+        TransactionRepository repository = Stubs.of(TransactionRepository.class, Map.of("findRows", args -> rows));
+        transactionService = new TransactionService(repository, null, null, null);
+    }
+
+    @Benchmark
+    public List<TransactionDto> monthFilter() {
+        return transactionService.getFilteredTransactions(userId, monthFilter);
+    }
+
+    @Benchmark
+    public List<TransactionDto> noFilter() {
+        return transactionService.getFilteredTransactions(userId, noFilter);
+    }
+}
@@ -0,0 +1,76 @@
+package com.alpeerkaraca.fintrackserver.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * HTTP client of one virtual user. The auth cookies are {@code Secure} and the load test talks plain HTTP, so the
+ * access token cookie is kept and sent by hand instead of through a {@link java.net.CookieManager}.
+ */
+final class ApiClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String ACCESS_COOKIE = "access_token=";
+
+    private final HttpClient http;
+    private final URI baseUri;
+    private final LatencyRecorder recorder;
+    private volatile String accessToken;
+
+    ApiClient(HttpClient http, URI baseUri, LatencyRecorder recorder) {
+        this.http = http;
+        this.baseUri = baseUri;
+        this.recorder = recorder;
+    }
+
+    /**
+     * @param endpoint  name the latency is recorded under, e.g. {@code GET /api/v1/transactions}
+     * @param pathQuery path and query string relative to the application root
+     * @return the response status, or -1 when the request failed without a response
+     */
+    int get(String endpoint, String pathQuery) {
+        return send(endpoint, request(pathQuery).GET());
+    }
+
+    int post(String endpoint, String path, String contentType, String body) {
+        return send(endpoint, request(path)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpRequest.Builder request(String pathQuery) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(pathQuery))
+                .timeout(REQUEST_TIMEOUT)
+                .header("User-Agent", "fintrack-load-test");
+        if (accessToken != null) {
+            request.header("Cookie", ACCESS_COOKIE + accessToken);
+        }
+        return request;
+    }
+
+    private int send(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        int status;
+        try {
+            HttpResponse<Void> response = http.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            status = response.statusCode();
+            response.headers().allValues("Set-Cookie").stream()
+                    .filter(cookie -> cookie.startsWith(ACCESS_COOKIE))
+                    .findFirst()
+                    .ifPresent(cookie -> {
+                        int end = cookie.indexOf(';');
+                        accessToken = cookie.substring(ACCESS_COOKIE.length(), end < 0 ? cookie.length() : end);
+                    });
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        }
+        recorder.record(endpoint, System.nanoTime() - start, status >= 200 && status < 300);
+        return status;
+    }
+}
@@ -0,0 +1,77 @@
+package com.alpeerkaraca.fintrackserver.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects request latencies per endpoint while recording is switched on, so warm-up requests are left out.
+ */
+final class LatencyRecorder {
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        if (recording) {
+            samples.computeIfAbsent(endpoint, key -> new Samples()).add(latencyNanos, success);
+        }
+    }
+
+    /**
+     * @param measured how long recording was switched on, for the throughput
+     */
+    List<EndpointStats> summarize(Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        return samples.entrySet().stream()
+                .map(entry -> entry.getValue().summarize(entry.getKey(), seconds))
+                .sorted(Comparator.comparing(EndpointStats::endpoint))
+                .toList();
+    }
+
+    record EndpointStats(String endpoint, int requests, int errors, double throughputPerSecond,
+                         double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long latencyNanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats summarize(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, size, errors, size / seconds,
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 100));
+        }
+
+        // Nearest-rank percentile in milliseconds
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1e6;
+        }
+    }
+}
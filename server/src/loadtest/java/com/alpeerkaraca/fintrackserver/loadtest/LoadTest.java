@@ -0,0 +1,101 @@
+package com.alpeerkaraca.fintrackserver.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the application against real PostgreSQL and Valkey and a stubbed market-data upstream, seeds one account per
+ * virtual user and drives the session mix of {@link VirtualUser} for the configured time. Prints p50/p90/p99 latency
+ * and throughput per endpoint and writes them to the JSON report.
+ * <p>
+ * Settings are read from system properties, see {@link LoadTestSettings} and the {@code loadtest} Maven profile.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        try (LoadTestEnvironment environment = LoadTestEnvironment.start(settings);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(10)).build()) {
+
+            List<VirtualUser> users = new ArrayList<>();
+            for (int i = 0; i < settings.users(); i++) {
+                users.add(new VirtualUser(new ApiClient(http, environment.baseUri(), recorder), i, settings.thinkTime()));
+            }
+            System.out.printf("Seeding %d users with %d transactions each%n", settings.users(), settings.transactionsPerUser());
+            List<Future<?>> seeding = new ArrayList<>();
+            for (VirtualUser user : users) {
+                seeding.add(executor.submit(() -> user.seed(settings.transactionsPerUser())));
+            }
+            for (Future<?> seeded : seeding) {
+                seeded.get();
+            }
+
+            environment.upstream().startInjectingErrors();
+            Instant end = Instant.now().plus(settings.warmup()).plus(settings.duration());
+            System.out.printf("Running %d users for %ds warm-up and %ds measurement%n", settings.users(),
+                    settings.warmup().toSeconds(), settings.duration().toSeconds());
+            List<Future<?>> sessions = new ArrayList<>();
+            for (VirtualUser user : users) {
+                sessions.add(executor.submit(() -> {
+                    user.runUntil(end);
+                    return null;
+                }));
+            }
+            Thread.sleep(settings.warmup());
+            recorder.start();
+            long recordingStart = System.nanoTime();
+            for (Future<?> session : sessions) {
+                session.get();
+            }
+            recorder.stop();
+            Duration measured = Duration.ofNanos(System.nanoTime() - recordingStart);
+
+            report(settings, measured, recorder.summarize(measured), environment.upstream());
+        }
+    }
+
+    private static void report(LoadTestSettings settings, Duration measured, List<LatencyRecorder.EndpointStats> stats,
+                               StubMarketDataServer upstream) throws Exception {
+        System.out.printf("%n%-36s %8s %7s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (LatencyRecorder.EndpointStats endpoint : stats) {
+            System.out.printf("%-36s %8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f%n", endpoint.endpoint(),
+                    endpoint.requests(), endpoint.errors(), endpoint.throughputPerSecond(),
+                    endpoint.p50Ms(), endpoint.p90Ms(), endpoint.p99Ms(), endpoint.maxMs());
+        }
+        System.out.printf("Upstream stub: %d requests, %d injected errors%n", upstream.requests(), upstream.injectedErrors());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", settings.users());
+        report.put("measuredSeconds", measured.toMillis() / 1000.0);
+        report.put("thinkTimeMs", settings.thinkTime().toMillis());
+        report.put("transactionsPerUser", settings.transactionsPerUser());
+        report.put("upstream", Map.of(
+                "latencyMs", settings.upstreamLatency().toMillis(),
+                "jitterMs", settings.upstreamJitter().toMillis(),
+                "errorRate", settings.upstreamErrorRate(),
+                "requests", upstream.requests(),
+                "injectedErrors", upstream.injectedErrors()));
+        report.put("endpoints", stats);
+        Files.createDirectories(settings.report().toAbsolutePath().getParent());
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(settings.report().toFile(), report);
+        System.out.println("Report written to " + settings.report());
+    }
+}
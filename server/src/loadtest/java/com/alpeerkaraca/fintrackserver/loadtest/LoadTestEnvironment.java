@@ -0,0 +1,89 @@
+package com.alpeerkaraca.fintrackserver.loadtest;
+
+import com.alpeerkaraca.fintrackserver.ServerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.lifecycle.Startables;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * PostgreSQL and Valkey containers with the images used in {@code compose.yml}, the stubbed market-data upstream and
+ * the application itself, started with the {@code loadtest} profile on a random HTTP port.
+ */
+final class LoadTestEnvironment implements AutoCloseable {
+    private static final String DATABASE = "fintrack_db";
+    private static final String DATABASE_USER = "fintrack_user";
+    private static final String DATABASE_PASSWORD = "fintrack_load_test";
+
+    private final GenericContainer<?> postgres = new GenericContainer<>(DockerImageName.parse("postgres:18-alpine"))
+            .withExposedPorts(5432)
+            .withEnv("POSTGRES_DB", DATABASE)
+            .withEnv("POSTGRES_USER", DATABASE_USER)
+            .withEnv("POSTGRES_PASSWORD", DATABASE_PASSWORD)
+            // The entrypoint restarts the server once after initialising the database
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*\\s", 2));
+    private final GenericContainer<?> valkey = new GenericContainer<>(DockerImageName.parse("valkey/valkey:7.2-alpine"))
+            .withExposedPorts(6379)
+            .waitingFor(Wait.forLogMessage(".*Ready to accept connections.*\\s", 1));
+    private final StubMarketDataServer upstream;
+    private ConfigurableApplicationContext application;
+
+    private LoadTestEnvironment(LoadTestSettings settings) throws IOException {
+        upstream = new StubMarketDataServer(settings.upstreamLatency(), settings.upstreamJitter(),
+                settings.upstreamErrorRate());
+    }
+
+    static LoadTestEnvironment start(LoadTestSettings settings) throws IOException {
+        LoadTestEnvironment environment = new LoadTestEnvironment(settings);
+        try {
+            environment.startServices();
+        } catch (RuntimeException e) {
+            environment.close();
+            throw e;
+        }
+        return environment;
+    }
+
+    private void startServices() {
+        Startables.deepStart(postgres, valkey).join();
+
+        // The test classpath includes DevTools, whose restarter would load the application a second time
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String jdbcUrl = "jdbc:postgresql://%s:%d/%s?reWriteBatchedInserts=true"
+                .formatted(postgres.getHost(), postgres.getMappedPort(5432), DATABASE);
+        application = new SpringApplicationBuilder(ServerApplication.class)
+                .profiles("loadtest")
+                .run("--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + DATABASE_USER,
+                        "--spring.datasource.password=" + DATABASE_PASSWORD,
+                        "--spring.data.redis.host=" + valkey.getHost(),
+                        "--spring.data.redis.port=" + valkey.getMappedPort(6379),
+                        "--app.market-data.upstream.exchange-rate-url=" + upstream.baseUrl(),
+                        "--app.market-data.upstream.yahoo-url=" + upstream.baseUrl(),
+                        "--app.market-data.upstream.fundfy-url=" + upstream.baseUrl(),
+                        "--app.market-data.upstream.bloomberght-url=" + upstream.baseUrl());
+    }
+
+    URI baseUri() {
+        return URI.create("http://localhost:" + application.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    StubMarketDataServer upstream() {
+        return upstream;
+    }
+
+    @Override
+    public void close() {
+        if (application != null) {
+            application.close();
+        }
+        upstream.close();
+        valkey.stop();
+        postgres.stop();
+    }
+}
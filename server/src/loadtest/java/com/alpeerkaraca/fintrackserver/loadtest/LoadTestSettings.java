@@ -0,0 +1,34 @@
+package com.alpeerkaraca.fintrackserver.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties (see the {@code loadtest} Maven profile).
+ *
+ * @param users               concurrent virtual users, each with its own account and data
+ * @param warmup              time the mix runs before latencies are recorded
+ * @param duration            measured time
+ * @param thinkTime           pause between two requests of a virtual user
+ * @param transactionsPerUser transactions imported for every user before the run
+ * @param upstreamLatency     base latency of every stubbed market-data response
+ * @param upstreamJitter      random extra latency, up to this much, on top of {@code upstreamLatency}
+ * @param upstreamErrorRate   share of stubbed market-data responses answered with 503 during the run
+ * @param report              JSON report file
+ */
+record LoadTestSettings(int users, Duration warmup, Duration duration, Duration thinkTime, int transactionsPerUser,
+                        Duration upstreamLatency, Duration upstreamJitter, double upstreamErrorRate, Path report) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 50),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Duration.ofMillis(Long.getLong("loadtest.think-time-ms", 100)),
+                Integer.getInteger("loadtest.transactions-per-user", 500),
+                Duration.ofMillis(Long.getLong("loadtest.upstream-latency-ms", 150)),
+                Duration.ofMillis(Long.getLong("loadtest.upstream-jitter-ms", 100)),
+                Double.parseDouble(System.getProperty("loadtest.upstream-error-rate", "0.02")),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json")));
+    }
+}
@@ -0,0 +1,134 @@
+package com.alpeerkaraca.fintrackserver.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for the market-data upstreams (exchangerate-api, Yahoo Finance, Fundfy and Bloomberg HT). It serves
+ * the recorded payloads in {@code market-data/} under the same paths as the real services, with {@code ${symbol}}
+ * replaced by the requested symbol, after a configurable latency. Once {@link #startInjectingErrors()} is called, a
+ * share of the responses are 503s.
+ */
+final class StubMarketDataServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private volatile boolean injectingErrors;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+
+    private final String exchangeRate = payload("exchange-rate.json");
+    private final String chart = payload("yahoo-chart.json");
+    private final String sparkResult = payload("yahoo-spark-result.json");
+    private final String fund = payload("fundfy-fund.json");
+    private final String metalPage = payload("bloomberght-metal.html");
+
+    StubMarketDataServer(Duration latency, Duration jitter, double errorRate) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v6/", exchange -> respond(exchange, "application/json", exchangeRate));
+        server.createContext("/v8/finance/chart/", exchange ->
+                respond(exchange, "application/json", chart.replace("${symbol}", lastPathSegment(exchange))));
+        server.createContext("/v7/finance/spark", exchange -> respond(exchange, "application/json", spark(exchange)));
+        server.createContext("/api/v1/fund/detail/", exchange ->
+                respond(exchange, "application/json", fund.replace("${symbol}", lastPathSegment(exchange))));
+        // Metal pages are addressed by slug, e.g. /altin/gram-altin
+        server.createContext("/", exchange ->
+                respond(exchange, "text/html; charset=utf-8", metalPage.replace("${symbol}", lastPathSegment(exchange))));
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    void startInjectingErrors() {
+        injectingErrors = true;
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long injectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private String spark(HttpExchange exchange) {
+        String symbols = "";
+        for (String parameter : exchange.getRequestURI().getQuery().split("&")) {
+            if (parameter.startsWith("symbols=")) {
+                symbols = parameter.substring("symbols=".length());
+            }
+        }
+        return Arrays.stream(symbols.split(","))
+                .filter(symbol -> !symbol.isBlank())
+                .map(symbol -> sparkResult.replace("${symbol}", symbol))
+                .collect(Collectors.joining(",", "{\"spark\":{\"result\":[", "],\"error\":null}}"));
+    }
+
+    private void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        requests.increment();
+        try (exchange) {
+            long delayMs = latency.toMillis() + (jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1));
+            Thread.sleep(delayMs);
+
+            if (injectingErrors && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.increment();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String lastPathSegment(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String payload(String name) {
+        try (InputStream in = StubMarketDataServer.class.getResourceAsStream("/market-data/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing recorded payload market-data/" + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
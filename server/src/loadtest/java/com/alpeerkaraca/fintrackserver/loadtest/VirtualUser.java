@@ -0,0 +1,117 @@
+package com.alpeerkaraca.fintrackserver.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One simulated user with its own account. {@link #seed} creates the account and its data; {@link #runUntil} repeats
+ * sessions of login, dashboard, transaction listing and reports, each followed by one of the budget or investment
+ * pages, with a think time between requests.
+ */
+final class VirtualUser {
+    private static final String PASSWORD = "LoadTest#2025";
+    private static final List<String> EXPENSE_TITLES = List.of(
+            "Market shopping", "Coffee", "Electricity bill", "Fuel", "Cinema tickets", "Pharmacy", "Dinner out",
+            "Phone bill", "Bookstore", "Taxi");
+    private static final List<String> EXPENSE_CATEGORIES = List.of(
+            "GROCERY", "FOOD", "UTILITIES", "TRANSPORT", "ENTERTAINMENT", "HEALTH", "DINING", "BILLS", "EDUCATION",
+            "TRANSPORT");
+    private static final List<String> PAYMENT_METHODS = List.of("card", "cash", "transfer");
+    private static final List<String> INVESTMENTS = List.of(
+            "{\"symbol\":\"AAPL\",\"quantity\":10,\"avgCost\":180.50,\"assetType\":\"STOCK\",\"stockMarket\":\"NASDAQ\"}",
+            "{\"symbol\":\"THYAO\",\"quantity\":100,\"avgCost\":285.25,\"assetType\":\"STOCK\",\"stockMarket\":\"BIST\"}",
+            "{\"symbol\":\"AFT\",\"quantity\":1500,\"avgCost\":2.75,\"assetType\":\"FUND\",\"stockMarket\":\"TEFAS\"}",
+            "{\"symbol\":\"altin/gram-altin\",\"quantity\":20,\"avgCost\":4100,\"assetType\":\"GOLD_SILVER\",\"stockMarket\":\"OTHER\"}",
+            "{\"symbol\":\"USD\",\"quantity\":500,\"avgCost\":38.10,\"assetType\":\"CURRENCY\",\"stockMarket\":\"OTHER\"}");
+
+    private final ApiClient api;
+    private final String username;
+    private final Duration thinkTime;
+    private final Random random;
+
+    VirtualUser(ApiClient api, int index, Duration thinkTime) {
+        this.api = api;
+        this.username = "loadtest-user-" + index;
+        this.thinkTime = thinkTime;
+        this.random = new Random(index);
+    }
+
+    void seed(int transactions) {
+        expectOk(api.post("POST /api/v1/auth/register", "/api/v1/auth/register", "application/json",
+                "{\"username\":\"%s\",\"email\":\"%s@example.com\",\"password\":\"%s\",\"netSalaryUsd\":2500}"
+                        .formatted(username, username, PASSWORD)), "register");
+        expectOk(api.post("POST /api/v1/transactions/bulk", "/api/v1/transactions/bulk", "text/csv",
+                transactionsCsv(transactions)), "import transactions");
+        for (String investment : INVESTMENTS) {
+            expectOk(api.post("POST /api/v1/investments", "/api/v1/investments", "application/json", investment),
+                    "add investment " + investment);
+        }
+    }
+
+    void runUntil(Instant end) throws InterruptedException {
+        while (Instant.now().isBefore(end)) {
+            LocalDate today = LocalDate.now();
+            String monthYear = "month=%d&year=%d".formatted(today.getMonthValue(), today.getYear());
+
+            api.post("POST /api/v1/auth/login", "/api/v1/auth/login", "application/json",
+                    "{\"username\":\"%s\",\"password\":\"%s\"}".formatted(username, PASSWORD));
+            think();
+            api.get("GET /api/v1/dashboard/overview", "/api/v1/dashboard/overview?" + monthYear);
+            think();
+            if (random.nextInt(5) == 0) {
+                String word = EXPENSE_TITLES.get(random.nextInt(EXPENSE_TITLES.size())).split(" ")[0].toLowerCase();
+                api.get("GET /api/v1/transactions?q", "/api/v1/transactions?page=0&size=20&q=" + word);
+            } else {
+                api.get("GET /api/v1/transactions", "/api/v1/transactions?page=0&size=20&" + monthYear);
+            }
+            think();
+            if (random.nextBoolean()) {
+                api.get("GET /api/v1/transactions/scroll", "/api/v1/transactions/scroll?size=20");
+                think();
+            }
+            api.get("GET /api/v1/reports/summary", "/api/v1/reports/summary?startDate=%s&endDate=%s"
+                    .formatted(today.minusMonths(5).withDayOfMonth(1), today));
+            think();
+            switch (random.nextInt(3)) {
+                case 0 -> api.get("GET /api/v1/budgets/summary", "/api/v1/budgets/summary?" + monthYear);
+                case 1 -> api.get("GET /api/v1/budgets/forecast", "/api/v1/budgets/forecast");
+                default -> api.get("GET /api/v1/investments", "/api/v1/investments");
+            }
+            think();
+        }
+    }
+
+    private String transactionsCsv(int transactions) {
+        LocalDate today = LocalDate.now();
+        StringBuilder csv = new StringBuilder("date,title,amountTry,category,type,paymentMethod,isInstallment\n");
+        for (int i = 0; i < transactions; i++) {
+            LocalDate date = today.minusDays(random.nextInt(365));
+            if (i % 25 == 0) {
+                csv.append(date.withDayOfMonth(1)).append(",Salary,85000.00,SALARY,income,transfer,false\n");
+                continue;
+            }
+            int kind = random.nextInt(EXPENSE_TITLES.size());
+            csv.append(date).append(',')
+                    .append(EXPENSE_TITLES.get(kind)).append(',')
+                    .append(50 + random.nextInt(2500)).append('.').append(random.nextInt(10)).append("0,")
+                    .append(EXPENSE_CATEGORIES.get(kind)).append(",expense,")
+                    .append(PAYMENT_METHODS.get(random.nextInt(PAYMENT_METHODS.size()))).append(",false\n");
+        }
+        return csv.toString();
+    }
+
+    private void think() throws InterruptedException {
+        if (!thinkTime.isZero()) {
+            Thread.sleep(thinkTime);
+        }
+    }
+
+    private void expectOk(int status, String step) {
+        if (status < 200 || status >= 300) {
+            throw new IllegalStateException("Seeding " + username + " failed to " + step + ": HTTP " + status);
+        }
+    }
+}
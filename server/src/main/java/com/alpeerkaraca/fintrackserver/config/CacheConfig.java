@@ -1,7 +1,12 @@
 package com.alpeerkaraca.fintrackserver.config;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import tools.jackson.databind.jsontype.PolymorphicTypeValidator;
 import org.springframework.cache.annotation.EnableCaching;
@@ -19,12 +24,64 @@ import tools.jackson.databind.cfg.JsonNodeFeature;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
+    private static final long LOCAL_MAX_ENTRIES = 10_000;
+    private static final Duration LOCAL_DEFAULT_TTL = Duration.ofSeconds(30);
+    // Upper bound on how long other nodes wait for one node's upstream fetch on a shared cache miss
+    private static final Duration LOAD_LEASE_TTL = Duration.ofSeconds(5);
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                            StringRedisTemplate stringRedisTemplate,
+                                            MeterRegistry meterRegistry) {
+        GenericJacksonJsonRedisSerializer valueSerializer = cacheValueSerializer();
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .disableCachingNullValues()
+                .serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer));
+
+        // Daily entries outlive the MarketDataRefresher's daily rewrite by an hour so held symbols never expire
+        RedisCacheConfiguration exchangeCfg = defaults.entryTtl(Duration.ofHours(25));
+        RedisCacheConfiguration fundCfg = defaults.entryTtl(Duration.ofHours(25));
+        RedisCacheConfiguration stockCfg = defaults.entryTtl(Duration.ofMinutes(5));
+        RedisCacheConfiguration metalCfg = defaults.entryTtl(Duration.ofMinutes(5));
+        RedisCacheConfiguration overviewCfg = defaults.entryTtl(Duration.ofMinutes(2));
+        RedisCacheConfiguration reportSummaryCfg = defaults.entryTtl(Duration.ofHours(2));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(defaults)
+                .withCacheConfiguration("exchangeRates", exchangeCfg)
+                .withCacheConfiguration("fundPrices", fundCfg)
+                .withCacheConfiguration("metalPrices", metalCfg)
+                .withCacheConfiguration("stockPrices", stockCfg)
+                .withCacheConfiguration("overviews", overviewCfg)
+                .withCacheConfiguration("reportSummary", reportSummaryCfg)
+                .build();
+        redisCacheManager.initializeCaches();
+
+        // In-heap L1 TTLs; kept well below the Redis TTLs so a missed invalidation message self-heals quickly.
+        Map<String, Duration> localTtls = Map.of(
+                "exchangeRates", Duration.ofMinutes(10),
+                "fundPrices", Duration.ofMinutes(10),
+                "metalPrices", Duration.ofSeconds(30),
+                "stockPrices", Duration.ofSeconds(30),
+                "overviews", Duration.ofSeconds(30),
+                "reportSummary", Duration.ofMinutes(5)
+        );
+
+        return new TwoTierCacheManager(redisCacheManager, stringRedisTemplate, localTtls, LOCAL_DEFAULT_TTL, LOCAL_MAX_ENTRIES, LOAD_LEASE_TTL,
+                meterRegistry);
+    }
+
+    /**
+     * Serializer for the values stored in Redis. Cached types must round-trip through it, including the type ids it
+     * writes for non-final types.
+     */
+    public static GenericJacksonJsonRedisSerializer cacheValueSerializer() {
         PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
                 .allowIfBaseType("com.alpeerkaraca.fintrackserver.")
                 .allowIfBaseType("java.util.")
@@ -48,29 +105,17 @@ public class CacheConfig {
                         DefaultTyping.NON_FINAL,
                         JsonTypeInfo.As.PROPERTY
                 ).build();
-        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
-                .disableCachingNullValues()
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJacksonJsonRedisSerializer(mapper)
-                        ));
-
-        RedisCacheConfiguration exchangeCfg = defaults.entryTtl(Duration.ofDays(1));
-        RedisCacheConfiguration fundCfg = defaults.entryTtl(Duration.ofDays(1));
-        RedisCacheConfiguration stockCfg = defaults.entryTtl(Duration.ofMinutes(5));
-        RedisCacheConfiguration metalCfg = defaults.entryTtl(Duration.ofMinutes(5));
-        RedisCacheConfiguration overviewCfg = defaults.entryTtl(Duration.ofMinutes(2));
-        RedisCacheConfiguration reportSummaryCfg = defaults.entryTtl(Duration.ofHours(2));
+        return new GenericJacksonJsonRedisSerializer(mapper);
+    }
 
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(defaults)
-                .withCacheConfiguration("exchangeRates", exchangeCfg)
-                .withCacheConfiguration("fundPrices", fundCfg)
-                .withCacheConfiguration("metalPrices", metalCfg)
-                .withCacheConfiguration("stockPrices", stockCfg)
-                .withCacheConfiguration("overviews", overviewCfg)
-                .withCacheConfiguration("reportSummary", reportSummaryCfg)
-                .build();
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                           TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
 
     @Bean
@@ -1,5 +1,6 @@
 package com.alpeerkaraca.fintrackserver.config;
 
+import com.alpeerkaraca.fintrackserver.service.CacheService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -13,14 +14,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DashboardCacheInvalidator {
     private final CacheManager cacheManager;
+    private final CacheService cacheService;
 
     public void evictOverview(UUID userId, Set<YearMonth> months) {
         Cache cache = cacheManager.getCache("overviews");
         if (cache == null) return;
 
         for (YearMonth ym : months) {
-            String key = String.format("%s:%04d-%02d", userId, ym.getYear(), ym.getMonthValue());
-            cache.evict(key);
+            cache.evict(cacheService.overviewKey(userId, ym.getYear(), ym.getMonthValue()));
         }
     }
 }
@@ -0,0 +1,83 @@
+package com.alpeerkaraca.fintrackserver.config;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Number of SQL statements Hibernate prepared in a scope, as reported by {@link QueryCountInspector}.
+ * <p>
+ * {@link QueryCountFilter} opens one scope per HTTP request. It is found through the request attributes, so work
+ * that carries them over to another thread (the dashboard sections) is counted too. Tests open a scope on the
+ * current thread with {@link #start()} to assert on query budgets:
+ * <pre>{@code
+ * try (QueryCount queries = QueryCount.start()) {
+ *     repository.findSomething();
+ *     assertThat(queries.get()).isEqualTo(1);
+ * }
+ * }</pre>
+ * A batched insert counts once per prepared statement, not once per row.
+ */
+public final class QueryCount implements AutoCloseable {
+    static final String REQUEST_ATTRIBUTE = QueryCount.class.getName();
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final QueryCount enclosing;
+    private final boolean threadBound;
+
+    private QueryCount(QueryCount enclosing, boolean threadBound) {
+        this.enclosing = enclosing;
+        this.threadBound = threadBound;
+    }
+
+    /**
+     * Starts counting the statements prepared on the current thread until {@link #close()}. Scopes nest; a statement
+     * is counted by the innermost one.
+     */
+    public static QueryCount start() {
+        QueryCount scope = new QueryCount(CURRENT.get(), true);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static QueryCount forRequest() {
+        return new QueryCount(null, false);
+    }
+
+    public int get() {
+        return statements.get();
+    }
+
+    @Override
+    public void close() {
+        if (!threadBound) {
+            return;
+        }
+        if (enclosing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(enclosing);
+        }
+    }
+
+    static void recordStatement() {
+        QueryCount scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements.incrementAndGet();
+        }
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return;
+        }
+        try {
+            if (requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof QueryCount request) {
+                request.statements.incrementAndGet();
+            }
+        } catch (IllegalStateException e) {
+            // The request already completed, e.g. a dashboard section that outlived its deadline
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.alpeerkaraca.fintrackserver.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of each HTTP request. The count is recorded as {@code fintrack.http.server.queries},
+ * tagged with the method and the matched route. A warning is logged when a request runs more than
+ * {@code app.jpa.query-count-warn-threshold} statements, which usually means an N+1 or repeated lookups.
+ * <p>
+ * Statements run after the response was handed to an async thread (the streaming exports) are not counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+    private static final String QUERIES_SUMMARY = "fintrack.http.server.queries";
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${app.jpa.query-count-warn-threshold:25}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCount queries = QueryCount.forRequest();
+        request.setAttribute(QueryCount.REQUEST_ATTRIBUTE, queries);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // The route is only known once the handler mapping ran; keep raw paths out of the tags
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            int count = queries.get();
+            DistributionSummary.builder(QUERIES_SUMMARY)
+                    .baseUnit("statements")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(count);
+            if (count > warnThreshold) {
+                log.warn("{} {} ran {} SQL statements, more than the threshold of {}",
+                        request.getMethod(), uri, count, warnThreshold);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.alpeerkaraca.fintrackserver.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares towards the open {@link QueryCount} scopes and leaves it unchanged.
+ * Registered through {@code hibernate.session_factory.statement_inspector}, so Hibernate creates the instance.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCount.recordStatement();
+        return sql;
+    }
+}
@@ -0,0 +1,35 @@
+package com.alpeerkaraca.fintrackserver.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the HQL functions behind transaction title search. Both take the lower-cased title and search term.
+ * <ul>
+ *     <li>{@code title_fuzzy_match(title, term)}: whether a word of the title is similar to the term</li>
+ *     <li>{@code title_similarity(title, term)}: relevance between 0 and 1</li>
+ * </ul>
+ * On PostgreSQL they map to the {@code pg_trgm} word similarity operator and function, which the
+ * {@code idx_tx_title_trgm} GIN index serves. Other databases (H2 in tests) fall back to a substring match.
+ */
+public class TitleSearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        if (functionContributions.getDialect() instanceof PostgreSQLDialect) {
+            registry.registerPattern("title_fuzzy_match", "(?2 <% ?1)", types.resolve(StandardBasicTypes.BOOLEAN));
+            registry.registerPattern("title_similarity", "word_similarity(?2, ?1)", types.resolve(StandardBasicTypes.DOUBLE));
+        } else {
+            registry.registerPattern("title_fuzzy_match", "(locate(?2, ?1) > 0)", types.resolve(StandardBasicTypes.BOOLEAN));
+            registry.registerPattern("title_similarity", "case when locate(?2, ?1) > 0 then 1.0 else 0.0 end",
+                    types.resolve(StandardBasicTypes.DOUBLE));
+        }
+    }
+}
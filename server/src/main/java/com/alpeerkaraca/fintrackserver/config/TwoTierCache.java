@@ -0,0 +1,253 @@
+package com.alpeerkaraca.fintrackserver.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link org.springframework.cache.Cache} that keeps a bounded in-heap copy (L1) of a Redis-backed cache (L2).
+ * <p>
+ * Reads are served from L1 when possible and fall back to Redis. Every write, evict or clear is applied to both
+ * tiers locally and then broadcast so other nodes drop their L1 copy.
+ * <p>
+ * L1 keeps the deserialized value and hands the same instance to every caller on the node, so cached values must be
+ * immutable (records with unmodifiable lists, like {@code DashboardOverviewCore} and {@code ReportSummaryResponse}).
+ * <p>
+ * Loads through {@link #get(Object, Callable)} ({@code @Cacheable(sync = true)}) are single-flight: concurrent misses
+ * for one key on this node share one loader call, and across nodes only the holder of a short Redis lease loads
+ * while the others wait for its value to land in Redis.
+ * <p>
+ * Lookups are counted per tier as {@code fintrack.cache.gets}, loader calls are timed as {@code fintrack.cache.loads}
+ * and evictions are counted as {@code fintrack.cache.evictions}, all tagged with the cache name.
+ */
+public class TwoTierCache implements org.springframework.cache.Cache {
+    private static final long LEASE_POLL_INTERVAL_MS = 50;
+    private static final String GETS_COUNTER = "fintrack.cache.gets";
+    private static final String LOADS_TIMER = "fintrack.cache.loads";
+    private static final String EVICTIONS_COUNTER = "fintrack.cache.evictions";
+
+    private final org.springframework.cache.Cache redisCache;
+    private final Cache<String, Object> localCache;
+    private final TwoTierCacheManager cacheManager;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Timer successfulLoads;
+    private final Timer failedLoads;
+    private final Counter keyEvictions;
+    private final Counter clears;
+    private final Counter remoteKeyInvalidations;
+    private final Counter remoteClears;
+
+    TwoTierCache(org.springframework.cache.Cache redisCache, Cache<String, Object> localCache,
+                 TwoTierCacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.redisCache = redisCache;
+        this.localCache = localCache;
+        this.cacheManager = cacheManager;
+
+        String name = redisCache.getName();
+        localHits = meterRegistry.counter(GETS_COUNTER, "cache", name, "tier", "local", "result", "hit");
+        localMisses = meterRegistry.counter(GETS_COUNTER, "cache", name, "tier", "local", "result", "miss");
+        remoteHits = meterRegistry.counter(GETS_COUNTER, "cache", name, "tier", "redis", "result", "hit");
+        remoteMisses = meterRegistry.counter(GETS_COUNTER, "cache", name, "tier", "redis", "result", "miss");
+        successfulLoads = meterRegistry.timer(LOADS_TIMER, "cache", name, "outcome", "success");
+        failedLoads = meterRegistry.timer(LOADS_TIMER, "cache", name, "outcome", "error");
+        // origin=remote counts L1 drops requested by other nodes
+        keyEvictions = meterRegistry.counter(EVICTIONS_COUNTER, "cache", name, "scope", "key", "origin", "local");
+        clears = meterRegistry.counter(EVICTIONS_COUNTER, "cache", name, "scope", "all", "origin", "local");
+        remoteKeyInvalidations = meterRegistry.counter(EVICTIONS_COUNTER, "cache", name, "scope", "key", "origin", "remote");
+        remoteClears = meterRegistry.counter(EVICTIONS_COUNTER, "cache", name, "scope", "all", "origin", "remote");
+    }
+
+    @Override
+    public String getName() {
+        return redisCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object local = localCache.getIfPresent(localKey(key));
+        if (local != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(local);
+        }
+        localMisses.increment();
+        ValueWrapper remote = redisCache.get(key);
+        if (remote != null && remote.get() != null) {
+            remoteHits.increment();
+            localCache.put(localKey(key), remote.get());
+        } else {
+            remoteMisses.increment();
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            localHits.increment();
+            return (T) local;
+        }
+        localMisses.increment();
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, flight);
+        if (existing != null) {
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            Object value = loadOnce(key, localKey, valueLoader);
+            flight.complete(value);
+            return (T) value;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e instanceof ValueRetrievalException vre ? vre : new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(localKey, flight);
+        }
+    }
+
+    private Object loadOnce(Object key, String localKey, Callable<?> valueLoader) throws Exception {
+        Object remote = remoteValue(key, localKey);
+        if (remote != null) {
+            remoteHits.increment();
+            return remote;
+        }
+        remoteMisses.increment();
+
+        String leaseKey = getName() + "::" + localKey;
+        if (!cacheManager.tryAcquireLoadLease(leaseKey)) {
+            Object loadedElsewhere = awaitRemoteLoad(key, localKey, leaseKey);
+            if (loadedElsewhere != null) {
+                return loadedElsewhere;
+            }
+            // The lease holder failed or timed out; load here rather than fail the caller
+        }
+        try {
+            Object value = load(valueLoader);
+            if (value != null) {
+                redisCache.put(key, value);
+                localCache.put(localKey, value);
+            }
+            return value;
+        } finally {
+            cacheManager.releaseLoadLease(leaseKey);
+        }
+    }
+
+    private Object load(Callable<?> valueLoader) throws Exception {
+        Timer.Sample sample = Timer.start();
+        Timer timer = failedLoads;
+        try {
+            Object value = valueLoader.call();
+            timer = successfulLoads;
+            return value;
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    private Object awaitRemoteLoad(Object key, String localKey, String leaseKey) {
+        long deadline = System.currentTimeMillis() + cacheManager.getLoadLeaseTtl().toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LEASE_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Object remote = remoteValue(key, localKey);
+            if (remote != null) {
+                return remote;
+            }
+            if (!cacheManager.isLoadLeaseHeld(leaseKey)) {
+                // Released without a value, unless the holder's write raced the release
+                return remoteValue(key, localKey);
+            }
+        }
+        return null;
+    }
+
+    private Object remoteValue(Object key, String localKey) {
+        ValueWrapper remote = redisCache.get(key);
+        Object value = remote == null ? null : remote.get();
+        if (value != null) {
+            localCache.put(localKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisCache.put(key, value);
+        if (value != null) {
+            localCache.put(localKey(key), value);
+        }
+        cacheManager.publishInvalidation(getName(), localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        localCache.invalidate(localKey(key));
+        keyEvictions.increment();
+        cacheManager.publishInvalidation(getName(), localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        localCache.invalidateAll();
+        clears.increment();
+        cacheManager.publishInvalidation(getName(), null);
+    }
+
+    void invalidateLocal(String key) {
+        if (key == null) {
+            localCache.invalidateAll();
+            remoteClears.increment();
+        } else {
+            localCache.invalidate(key);
+            remoteKeyInvalidations.increment();
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,180 @@
+package com.alpeerkaraca.fintrackserver.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Composite {@link CacheManager}: a Caffeine L1 per cache in front of the {@code RedisCacheManager} (L2).
+ * <p>
+ * L1 entries are kept consistent across nodes through Redis pub/sub on {@link #INVALIDATION_CHANNEL}. Messages
+ * published by this node are ignored on receipt since the local tier was already updated. Node-local state kept
+ * outside these caches can use the same channel through {@link #addInvalidationListener}.
+ * <p>
+ * Also hands out the short-lived per-key load leases ({@code cacheLoadLease::<cache>::<key>}) that let one node
+ * load a missing entry while the others wait for it, and named run locks ({@code runLock::<name>}) for scheduled work
+ * that one node does on behalf of all.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+    private static final String SEPARATOR = "|";
+    private static final String CLEAR_MARKER = "*";
+    private static final String LEASE_PREFIX = "cacheLoadLease::";
+    private static final String RUN_LOCK_PREFIX = "runLock::";
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final CacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<String, Duration> localTtls;
+    private final Duration defaultLocalTtl;
+    private final long localMaxEntries;
+    private final Duration loadLeaseTtl;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<String>> invalidationListeners = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager redisCacheManager,
+                               StringRedisTemplate stringRedisTemplate,
+                               Map<String, Duration> localTtls,
+                               Duration defaultLocalTtl,
+                               long localMaxEntries,
+                               Duration loadLeaseTtl,
+                               MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localTtls = Map.copyOf(localTtls);
+        this.defaultLocalTtl = defaultLocalTtl;
+        this.localMaxEntries = localMaxEntries;
+        this.loadLeaseTtl = loadLeaseTtl;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoTierCache(
+                redisCache,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaxEntries)
+                        .expireAfterWrite(localTtls.getOrDefault(n, defaultLocalTtl))
+                        .build(),
+                this,
+                meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * Calls {@code listener} with the key of every invalidation that another node publishes under {@code name}, or with
+     * null for a clear. {@code name} must not be the name of a cache.
+     */
+    public void addInvalidationListener(String name, Consumer<String> listener) {
+        invalidationListeners.put(name, listener);
+    }
+
+    public void publishInvalidation(String cacheName, String key) {
+        String payload = nodeId + SEPARATOR + cacheName + SEPARATOR + (key == null ? CLEAR_MARKER : key);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, payload);
+        } catch (Exception e) {
+            log.warn("Failed to publish near cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * @return true when this node may load the entry: it took the lease, or Redis is unreachable and only the local
+     * single-flight applies
+     */
+    boolean tryAcquireLoadLease(String leaseKey) {
+        return trySetLease(LEASE_PREFIX + leaseKey, loadLeaseTtl);
+    }
+
+    /**
+     * Takes the named run lock ({@code SET NX PX}) so that only one node runs a scheduled job per tick. The lock is not
+     * released when the job ends; it expires after {@code ttl}, so nodes whose schedule fires a little later still skip
+     * the tick. Choose a ttl shorter than the job's interval.
+     *
+     * @return true when this node should run the job: it took the lock, or Redis is unreachable
+     */
+    public boolean tryAcquireRunLock(String name, Duration ttl) {
+        return trySetLease(RUN_LOCK_PREFIX + name, ttl);
+    }
+
+    private boolean trySetLease(String key, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, nodeId, ttl));
+        } catch (Exception e) {
+            log.warn("Failed to acquire lease {}: {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    boolean isLoadLeaseHeld(String leaseKey) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(LEASE_PREFIX + leaseKey));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    void releaseLoadLease(String leaseKey) {
+        try {
+            // Only delete our own lease; it may have expired and been taken by another node
+            stringRedisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(LEASE_PREFIX + leaseKey), nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to release cache load lease for {}: {}", leaseKey, e.getMessage());
+        }
+    }
+
+    Duration getLoadLeaseTtl() {
+        return loadLeaseTtl;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        String key = CLEAR_MARKER.equals(parts[2]) ? null : parts[2];
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.invalidateLocal(key);
+            return;
+        }
+        Consumer<String> listener = invalidationListeners.get(parts[1]);
+        if (listener != null) {
+            listener.accept(key);
+        }
+    }
+}
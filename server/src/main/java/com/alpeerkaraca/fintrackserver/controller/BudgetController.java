@@ -37,8 +37,10 @@ public class BudgetController {
 
     @GetMapping("/forecast")
     public ResponseEntity<ApiResponse<List<ForecastResponse>>> getBudgetForecast(
+            @RequestParam(defaultValue = "3") int monthsBack,
+            @RequestParam(defaultValue = "3") int monthsAhead,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        return ResponseEntity.ok(ApiResponse.success(budgetService.getBudgetForecast(userPrincipal.id())));
+        return ResponseEntity.ok(ApiResponse.success(budgetService.getBudgetForecast(userPrincipal.id(), monthsBack, monthsAhead)));
     }
 
     @GetMapping("/alerts")
@@ -1,22 +1,34 @@
 package com.alpeerkaraca.fintrackserver.controller;
 
 import com.alpeerkaraca.fintrackserver.dto.ApiResponse;
+import com.alpeerkaraca.fintrackserver.dto.BulkImportResult;
+import com.alpeerkaraca.fintrackserver.dto.CursorSlice;
+import com.alpeerkaraca.fintrackserver.dto.ExportFormat;
 import com.alpeerkaraca.fintrackserver.dto.TransactionDto;
 import com.alpeerkaraca.fintrackserver.dto.TransactionFilter;
 import com.alpeerkaraca.fintrackserver.dto.frontend.CategoryResponse;
 import com.alpeerkaraca.fintrackserver.model.Category;
 import com.alpeerkaraca.fintrackserver.security.UserPrincipal;
+import com.alpeerkaraca.fintrackserver.service.TransactionExportService;
+import com.alpeerkaraca.fintrackserver.service.TransactionImportService;
 import com.alpeerkaraca.fintrackserver.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/transactions")
@@ -25,6 +37,8 @@ public class TransactionController {
 
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionImportService transactionImportService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<Page<TransactionDto>>> getTransactions(
@@ -39,6 +53,46 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success(res));
     }
 
+    /**
+     * Count-less, keyset-paginated variant of {@link #getTransactions} for infinite scroll. Omit {@code after} for
+     * the first page and pass the returned {@code nextCursor} to continue.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorSlice<TransactionDto>>> scrollTransactions(
+            TransactionFilter transactionFilter,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        CursorSlice<TransactionDto> res = transactionService.scrollFilteredTransactions(
+                userPrincipal.id(),
+                transactionFilter,
+                after,
+                size);
+        return ResponseEntity.ok(ApiResponse.success(res));
+    }
+
+    /**
+     * Streams every transaction matching the filter as CSV ({@code format=csv}, default) or NDJSON
+     * ({@code format=ndjson}).
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            TransactionFilter transactionFilter,
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        UUID userId = userPrincipal.id();
+        StreamingResponseBody body = out -> transactionExportService.export(userId, transactionFilter, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + exportFormat.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<TransactionDto>> createTransaction(
             @Valid @RequestBody TransactionDto transactionDto,
@@ -50,4 +104,24 @@ public class TransactionController {
 
         return ResponseEntity.ok(ApiResponse.success(res));
     }
+
+    /**
+     * Imports a CSV file (columns as written by {@link #exportTransactions}) or a JSON array of transactions. Either
+     * every row is saved or, when a row is invalid, none is.
+     */
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<BulkImportResult>> importTransactionsCsv(
+            InputStream body,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        BulkImportResult res = transactionImportService.importCsv(userPrincipal.id(), body);
+        return ResponseEntity.ok(ApiResponse.success(res));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkImportResult>> importTransactionsJson(
+            InputStream body,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        BulkImportResult res = transactionImportService.importJson(userPrincipal.id(), body);
+        return ResponseEntity.ok(ApiResponse.success(res));
+    }
 }
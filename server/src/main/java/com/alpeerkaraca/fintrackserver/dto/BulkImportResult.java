@@ -0,0 +1,3 @@
+package com.alpeerkaraca.fintrackserver.dto;
+
+public record BulkImportResult(int imported) {}
@@ -0,0 +1,14 @@
+package com.alpeerkaraca.fintrackserver.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. There is no total count; pass {@code nextCursor} as {@code after} to get
+ * the next page.
+ */
+public record CursorSlice<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
@@ -1,22 +1,36 @@
 package com.alpeerkaraca.fintrackserver.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.springframework.data.web.PagedModel;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-@Data
+/**
+ * Cached part of the dashboard overview. Immutable, including its lists, because the near cache hands the same
+ * instance to every caller.
+ */
 @Builder
-@AllArgsConstructor
-@NoArgsConstructor
-public class DashboardOverviewCore {
-    private BudgetSummaryDto summary;
-    private List<ForecastResponse> forecast;
-    private List<BudgetCategoryResponse> categoryWatchlist;
-    private List<InvestmentAssetDto> investments;
-    private BigDecimal currentUsdTryRate;
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "@class")
+public record DashboardOverviewCore(
+        BudgetSummaryDto summary,
+        List<ForecastResponse> forecast,
+        List<BudgetCategoryResponse> categoryWatchlist,
+        List<InvestmentAssetDto> investments,
+        BigDecimal currentUsdTryRate,
+        List<String> unavailableSections) {
+
+    public DashboardOverviewCore {
+        forecast = unmodifiableCopy(forecast);
+        categoryWatchlist = unmodifiableCopy(categoryWatchlist);
+        investments = unmodifiableCopy(investments);
+        unavailableSections = unmodifiableCopy(unavailableSections == null ? List.of() : unavailableSections);
+    }
+
+    // Collections.unmodifiableList rather than List.copyOf: its type id round-trips through the typed Redis serializer
+    private static <T> List<T> unmodifiableCopy(List<T> list) {
+        return list == null ? null : Collections.unmodifiableList(new ArrayList<>(list));
+    }
 }
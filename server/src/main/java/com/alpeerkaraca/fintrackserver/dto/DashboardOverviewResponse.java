@@ -9,6 +9,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.web.PagedModel;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -21,5 +22,7 @@ public class DashboardOverviewResponse {
     private List<BudgetCategoryResponse> categoryWatchlist;
     private List<InvestmentAssetDto> investments;
     private BigDecimal currentUsdTryRate;
+    @Builder.Default
+    private List<String> unavailableSections = new ArrayList<>();
     private PageDto<TransactionDto> recentTransactions;
 }
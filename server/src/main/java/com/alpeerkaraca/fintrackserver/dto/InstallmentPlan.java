@@ -0,0 +1,16 @@
+package com.alpeerkaraca.fintrackserver.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Monthly payment of an installment transaction and the first and last month it is paid in, formatted as "YYYY-MM".
+ */
+public record InstallmentPlan(
+        BigDecimal monthlyAmountTry,
+        String startMonth,
+        String endMonth
+) {
+    public boolean isActiveIn(String yearMonth) {
+        return startMonth.compareTo(yearMonth) <= 0 && endMonth.compareTo(yearMonth) >= 0;
+    }
+}
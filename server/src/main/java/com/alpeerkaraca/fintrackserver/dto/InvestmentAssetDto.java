@@ -2,12 +2,10 @@ package com.alpeerkaraca.fintrackserver.dto;
 
 import com.alpeerkaraca.fintrackserver.model.AssetType;
 import com.alpeerkaraca.fintrackserver.model.StockMarket;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 import jakarta.validation.constraints.DecimalMin;
@@ -17,50 +15,51 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
 @Builder
-public class InvestmentAssetDto {
-    @NotBlank
-    private UUID id;
-    @NotBlank
-    @Size(min = 1, max = 12)
-    private String symbol;
+public record InvestmentAssetDto(
+        @NotBlank
+        UUID id,
+        @NotBlank
+        @Size(min = 1, max = 12)
+        String symbol,
 
-    @NotBlank
-    @Size(max = 255)
-    private String name;
+        @NotBlank
+        @Size(max = 255)
+        String name,
 
-    @NotNull
-    @Min(value = 0, message = "quantity must be non-negative")
-    private BigDecimal quantity;
+        @NotNull
+        @Min(value = 0, message = "quantity must be non-negative")
+        BigDecimal quantity,
 
-    @NotNull
-    @DecimalMin(value = "0.00", inclusive = true, message = "avgCostTry must be non-negative")
-    @Digits(integer = 20, fraction = 6)
-    private BigDecimal avgCostTry;
+        @NotNull
+        @DecimalMin(value = "0.00", inclusive = true, message = "avgCostTry must be non-negative")
+        @Digits(integer = 20, fraction = 6)
+        BigDecimal avgCostTry,
 
-    @NotNull
-    @DecimalMin(value = "0.00", inclusive = true, message = "currentPriceTry must be non-negative")
-    @Digits(integer = 20, fraction = 6)
-    private BigDecimal currentPriceTry;
+        @NotNull
+        @DecimalMin(value = "0.00", inclusive = true, message = "currentPriceTry must be non-negative")
+        @Digits(integer = 20, fraction = 6)
+        BigDecimal currentPriceTry,
 
-    @NotNull
-    @Digits(integer = 6, fraction = 6, message = "changePercent must have up to 4 decimal places")
-    private BigDecimal changePercent;
+        @NotNull
+        @Digits(integer = 6, fraction = 6, message = "changePercent must have up to 4 decimal places")
+        BigDecimal changePercent,
 
-    @NotNull
-    @Digits(integer = 20, fraction = 6)
-    private BigDecimal profitLossTry;
+        @NotNull
+        @Digits(integer = 20, fraction = 6)
+        BigDecimal profitLossTry,
 
-    @NotNull
-    private AssetType assetType;
+        @NotNull
+        AssetType assetType,
 
-    private StockMarket stockMarket;
+        StockMarket stockMarket,
 
-    private String stockMarketDisplayName;
-    private String originalCurrency;
-    private BigDecimal avgCostOriginal;
-    private BigDecimal currentPriceOriginal;
-}
\ No newline at end of file
+        String stockMarketDisplayName,
+        String originalCurrency,
+        BigDecimal avgCostOriginal,
+        BigDecimal currentPriceOriginal,
+
+        // When currentPriceTry was fetched upstream; null when it fell back to the average cost.
+        // Clients derive the price age from this, since the DTO itself is cached.
+        Instant priceAsOf) {
+}
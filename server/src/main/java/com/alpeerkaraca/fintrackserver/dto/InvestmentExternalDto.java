@@ -4,9 +4,19 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.AllArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * @param fetchedAt when the price was obtained from the upstream provider; null for entries cached before it was
+ *                  tracked
+ */
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "@class")
 public record InvestmentExternalDto (
         String name,
-        BigDecimal price
+        BigDecimal price,
+        Instant fetchedAt
 ){
+    public InvestmentExternalDto(String name, BigDecimal price) {
+        this(name, price, Instant.now());
+    }
 }
@@ -0,0 +1,19 @@
+package com.alpeerkaraca.fintrackserver.dto;
+
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * One grouped row of transaction amounts for a calendar month, transaction type and category.
+ */
+public record MonthlyCategoryTotal(
+        Integer year,
+        Integer month,
+        TransactionType transactionType,
+        Category category,
+        BigDecimal totalTry,
+        Long transactionCount
+) {
+}
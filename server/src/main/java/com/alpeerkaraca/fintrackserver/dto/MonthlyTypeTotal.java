@@ -0,0 +1,15 @@
+package com.alpeerkaraca.fintrackserver.dto;
+
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Rollup total of one transaction type for a month formatted as "YYYY-MM".
+ */
+public record MonthlyTypeTotal(
+        String yearMonth,
+        TransactionType transactionType,
+        BigDecimal totalTry
+) {
+}
@@ -0,0 +1,11 @@
+package com.alpeerkaraca.fintrackserver.dto;
+
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+
+public record TrackedSymbol(
+        AssetType type,
+        String symbol,
+        StockMarket stockMarket
+) {
+}
@@ -15,6 +15,8 @@ public class TransactionFilter {
     private Integer year;
     private TransactionType type;
     private String category;
+    // Title search; unless a sort is requested, matches are ordered by relevance
+    private String q;
     @Builder.Default
     private boolean expanded = true;
 }
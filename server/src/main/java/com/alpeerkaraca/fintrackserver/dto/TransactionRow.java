@@ -0,0 +1,46 @@
+package com.alpeerkaraca.fintrackserver.dto;
+
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.InstallmentMeta;
+import com.alpeerkaraca.fintrackserver.model.PaymentMethod;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Columns of a transaction read for listing, selected straight into this record instead of hydrating a managed
+ * {@code Transaction}.
+ */
+public record TransactionRow(
+        UUID id,
+        String title,
+        BigDecimal amountTry,
+        LocalDate date,
+        Category category,
+        TransactionType transactionType,
+        PaymentMethod paymentMethod,
+        Boolean isInstallment,
+        BigDecimal installmentTotalTry,
+        Integer installmentMonths,
+        String installmentStartMonth,
+        String installmentEndMonth
+) {
+    public TransactionDto toDto() {
+        InstallmentMeta installmentMeta = installmentTotalTry == null && installmentMonths == null && installmentStartMonth == null
+                ? null
+                : new InstallmentMeta(installmentTotalTry, installmentMonths, installmentStartMonth, installmentEndMonth);
+        return TransactionDto.builder()
+                .id(id)
+                .title(title)
+                .amountTry(amountTry)
+                .date(String.valueOf(date))
+                .category(category)
+                .type(transactionType)
+                .paymentMethod(paymentMethod)
+                .isInstallment(isInstallment)
+                .installmentMeta(installmentMeta)
+                .build();
+    }
+}
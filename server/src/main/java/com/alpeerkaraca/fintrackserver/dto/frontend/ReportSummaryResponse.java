@@ -1,96 +1,86 @@
 package com.alpeerkaraca.fintrackserver.dto.frontend;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-@Data
+/**
+ * Immutable, including its lists, because the near cache hands the same instance to every caller.
+ */
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class ReportSummaryResponse {
-    private String currency;
-    private DateRange range;
-    private ReportTotals totals;
-    private ReportAverages averages;
-    private List<MonthlySeriesItem> monthlySeries;
-    private List<CategoryBreakdownItem> categoryBreakdown;
-    private CategoryBreakdownItem topCategory;
-    private ReportMetadata metadata;
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "@class")
+public record ReportSummaryResponse(
+        String currency,
+        DateRange range,
+        ReportTotals totals,
+        ReportAverages averages,
+        List<MonthlySeriesItem> monthlySeries,
+        List<CategoryBreakdownItem> categoryBreakdown,
+        CategoryBreakdownItem topCategory,
+        ReportMetadata metadata) {
+
+    public ReportSummaryResponse {
+        monthlySeries = unmodifiableCopy(monthlySeries);
+        categoryBreakdown = unmodifiableCopy(categoryBreakdown);
+    }
+
+    // Collections.unmodifiableList rather than List.copyOf: its type id round-trips through the typed Redis serializer
+    private static <T> List<T> unmodifiableCopy(List<T> list) {
+        return list == null ? null : Collections.unmodifiableList(new ArrayList<>(list));
+    }
 
-    @Data
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class DateRange {
-        private String start;
-        private String end;
+    public record DateRange(
+            String start,
+            String end) {
     }
 
-    @Data
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class ReportTotals {
-        private BigDecimal incomeTry;
-        private BigDecimal expenseTry;
-        private BigDecimal netSavingsTry;
-        private Double savingsRatePct;
+    public record ReportTotals(
+            BigDecimal incomeTry,
+            BigDecimal expenseTry,
+            BigDecimal netSavingsTry,
+            Double savingsRatePct) {
     }
 
-    @Data
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class ReportAverages {
-        private BigDecimal monthlyIncomeTry;
-        private BigDecimal monthlyExpenseTry;
-        private BigDecimal monthlySavingsTry;
+    public record ReportAverages(
+            BigDecimal monthlyIncomeTry,
+            BigDecimal monthlyExpenseTry,
+            BigDecimal monthlySavingsTry) {
     }
 
-    @Data
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class MonthlySeriesItem {
-        private String month;      // "2026-02"
-        private String label;      // "Feb 2026"
-        private BigDecimal incomeTry;
-        private BigDecimal expenseTry;
-        private BigDecimal netSavingsTry;
+    public record MonthlySeriesItem(
+            String month,      // "2026-02"
+            String label,      // "Feb 2026"
+            BigDecimal incomeTry,
+            BigDecimal expenseTry,
+            BigDecimal netSavingsTry) {
     }
 
-    @Data
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class CategoryBreakdownItem {
-        private String categoryId;
-        private String categoryLabel;
-        private BigDecimal totalTry;
+    public record CategoryBreakdownItem(
+            String categoryId,
+            String categoryLabel,
+            BigDecimal totalTry) {
     }
 
-    @Data
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class ReportMetadata {
-        private LocalDateTime generatedAt;
-        private DataPoints dataPoints;
+    public record ReportMetadata(
+            LocalDateTime generatedAt,
+            DataPoints dataPoints) {
 
-        @Data
         @Builder
-        @NoArgsConstructor
-        @AllArgsConstructor
-        public static class DataPoints {
-            private int transactions;
-            private long months;
-            private int categories;
+        public record DataPoints(
+                int transactions,
+                long months,
+                int categories) {
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.alpeerkaraca.fintrackserver.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Thrown when rows of a bulk import fail validation. Nothing of the import is stored.
+ */
+@Getter
+public class BulkImportException extends RuntimeException {
+    private final List<String> errors;
+
+    public BulkImportException(List<String> errors) {
+        super(String.join("; ", errors));
+        this.errors = List.copyOf(errors);
+    }
+}
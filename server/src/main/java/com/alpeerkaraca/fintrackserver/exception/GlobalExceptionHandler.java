@@ -114,6 +114,32 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), request.getRequestURI()));
     }
 
+    /**
+     * Handle malformed or tampered pagination cursors
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidCursor(
+            InvalidCursorException ex,
+            HttpServletRequest request) {
+        log.warn("Invalid cursor for request to {}: {}", request.getRequestURI(), ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid pagination cursor. Start again from the first page.", request.getRequestURI()));
+    }
+
+    /**
+     * Handle bulk imports rejected because of invalid rows
+     */
+    @ExceptionHandler(BulkImportException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBulkImport(
+            BulkImportException ex,
+            HttpServletRequest request) {
+        log.warn("Bulk import rejected for request to {}: {} error(s)", request.getRequestURI(), ex.getErrors().size());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Import rejected, nothing was saved: " + ex.getMessage(), request.getRequestURI()));
+    }
+
     /**
      * Handle request validation errors (e.g., @Valid annotations)
      */
@@ -0,0 +1,7 @@
+package com.alpeerkaraca.fintrackserver.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
 
 @Embeddable
 @Getter
@@ -24,4 +25,23 @@ public class InstallmentMeta {
     @NotBlank
     @Pattern(regexp = "^(\\d{4})-(0[1-9]|1[0-2])$")
     private String startMonth;
+    // Last month with a payment, "YYYY-MM"; derived from startMonth and months when the transaction is saved
+    private String endMonth;
+
+    public void refreshEndMonth() {
+        if (startMonth != null && months != null) {
+            endMonth = YearMonth.parse(startMonth).plusMonths(months - 1L).toString();
+        }
+    }
+
+    /**
+     * @param yearMonth month formatted as "YYYY-MM"
+     * @return whether a payment of this installment plan falls into the month
+     */
+    public boolean isActiveIn(String yearMonth) {
+        if (endMonth == null) {
+            refreshEndMonth();
+        }
+        return startMonth.compareTo(yearMonth) <= 0 && endMonth.compareTo(yearMonth) >= 0;
+    }
 }
@@ -0,0 +1,47 @@
+package com.alpeerkaraca.fintrackserver.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Last price successfully fetched from an upstream provider for one instrument.
+ */
+@Entity
+@Table(name = "market_prices",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uq_market_price_instrument", columnNames = {"assetType", "stockMarket", "symbol"})
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketPrice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AssetType assetType;
+
+    @Column(nullable = false)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StockMarket stockMarket;
+
+    private String name;
+
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private Instant fetchedAt;
+}
@@ -0,0 +1,55 @@
+package com.alpeerkaraca.fintrackserver.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Running total of one user's transactions for a month, type, category and payment method.
+ */
+@Entity
+@Table(name = "monthly_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uq_monthly_rollup_bucket",
+                        columnNames = {"userProfileId", "yearMonth", "transactionType", "category", "paymentMethod"})
+        },
+        indexes = {
+                @Index(name = "idx_monthly_rollup_user_month", columnList = "userProfileId, yearMonth, transactionType")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userProfileId;
+
+    // "YYYY-MM", same format as InstallmentMeta.startMonth
+    @Column(nullable = false, length = 7)
+    private String yearMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Category category;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentMethod paymentMethod;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalTry;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+}
@@ -12,7 +12,8 @@ import java.util.UUID;
 @Table(name = "transactions",
 indexes = {
         @Index(name = "idx_tx_user_date", columnList = "user_profile_id, date"),
-        @Index(name = "idx_tx_user_category", columnList = "user_profile_id, category, date")
+        @Index(name = "idx_tx_user_category", columnList = "user_profile_id, category, date"),
+        @Index(name = "idx_tx_user_installment_months", columnList = "user_profile_id, is_installment, start_month, end_month")
 })
 
 @Getter
@@ -53,7 +54,8 @@ public class Transaction {
     @AttributeOverrides({
             @AttributeOverride(name = "totalTry", column = @Column(name = "total_try", precision = 19, scale = 2)),
             @AttributeOverride(name = "months", column = @Column(name = "months")),
-            @AttributeOverride(name = "startMonth", column = @Column(name = "start_month"))
+            @AttributeOverride(name = "startMonth", column = @Column(name = "start_month")),
+            @AttributeOverride(name = "endMonth", column = @Column(name = "end_month"))
     })
     private InstallmentMeta installmentMeta;
 
@@ -61,4 +63,12 @@ public class Transaction {
     @JoinColumn(name = "user_profile_id", nullable = false)
     @JsonIgnoreProperties({"transactions", "password"})
     private UserProfile userProfile;
+
+    @PrePersist
+    @PreUpdate
+    public void prePersist() {
+        if (installmentMeta != null) {
+            installmentMeta.refreshEndMonth();
+        }
+    }
 }
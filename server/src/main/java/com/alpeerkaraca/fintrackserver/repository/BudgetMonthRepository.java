@@ -4,6 +4,7 @@ import com.alpeerkaraca.fintrackserver.model.BudgetMonth;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,5 +12,7 @@ import java.util.UUID;
 public interface BudgetMonthRepository extends JpaRepository<BudgetMonth, UUID> {
         Optional<BudgetMonth> findByUserProfileIdAndMonthAndYear(UUID userId, Integer month, Integer year);
 
+        List<BudgetMonth> findByUserProfileIdAndYearBetween(UUID userId, Integer fromYear, Integer toYear);
+
         UUID id(UUID id);
 }
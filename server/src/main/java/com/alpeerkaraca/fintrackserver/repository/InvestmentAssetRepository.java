@@ -1,7 +1,9 @@
 package com.alpeerkaraca.fintrackserver.repository;
 
+import com.alpeerkaraca.fintrackserver.dto.TrackedSymbol;
 import com.alpeerkaraca.fintrackserver.model.InvestmentAsset;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,8 @@ public interface InvestmentAssetRepository extends JpaRepository<InvestmentAsset
     List<InvestmentAsset> findByUserProfileId(UUID userProfileId);
     boolean existsByUserProfileIdAndSymbol(UUID userProfileId, String symbol);
     Optional<InvestmentAsset> findByIdAndUserProfileId(UUID id, UUID userProfileId);
+
+    @Query("SELECT DISTINCT new com.alpeerkaraca.fintrackserver.dto.TrackedSymbol(a.type, a.symbol, a.stockMarket) " +
+            "FROM InvestmentAsset a")
+    List<TrackedSymbol> findDistinctTrackedSymbols();
 }
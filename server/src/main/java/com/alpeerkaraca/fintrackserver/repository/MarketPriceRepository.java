@@ -0,0 +1,16 @@
+package com.alpeerkaraca.fintrackserver.repository;
+
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.MarketPrice;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MarketPriceRepository extends JpaRepository<MarketPrice, UUID> {
+    List<MarketPrice> findByAssetTypeAndStockMarketAndSymbolIn(AssetType assetType, StockMarket stockMarket, Collection<String> symbols);
+}
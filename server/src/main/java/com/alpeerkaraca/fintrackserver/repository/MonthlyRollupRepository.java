@@ -0,0 +1,48 @@
+package com.alpeerkaraca.fintrackserver.repository;
+
+import com.alpeerkaraca.fintrackserver.dto.MonthlyTypeTotal;
+import com.alpeerkaraca.fintrackserver.model.MonthlyRollup;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, UUID> {
+
+    /**
+     * Adds the amount and count to a bucket, creating it when missing. A single statement, so concurrent first writes
+     * to a new bucket add up instead of one failing on {@code uq_monthly_rollup_bucket}. PostgreSQL only.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (id, user_profile_id, year_month, transaction_type, category, " +
+            "payment_method, total_try, transaction_count) " +
+            "VALUES (gen_random_uuid(), :userId, :yearMonth, :type, :category, :paymentMethod, :amount, :count) " +
+            "ON CONFLICT ON CONSTRAINT uq_monthly_rollup_bucket DO UPDATE " +
+            "SET total_try = monthly_rollups.total_try + excluded.total_try, " +
+            "transaction_count = monthly_rollups.transaction_count + excluded.transaction_count",
+            nativeQuery = true)
+    void upsert(UUID userId, String yearMonth, String type, String category, String paymentMethod,
+                BigDecimal amount, long count);
+
+    @Query("SELECT SUM(r.totalTry) FROM MonthlyRollup r " +
+            "WHERE r.userProfileId = :userId " +
+            "AND r.yearMonth = :yearMonth " +
+            "AND r.transactionType = :type")
+    Optional<BigDecimal> sumByUserIdAndMonthAndType(UUID userId, String yearMonth, TransactionType type);
+
+    @Query("SELECT new com.alpeerkaraca.fintrackserver.dto.MonthlyTypeTotal(r.yearMonth, r.transactionType, SUM(r.totalTry)) " +
+            "FROM MonthlyRollup r " +
+            "WHERE r.userProfileId = :userId " +
+            "AND r.yearMonth BETWEEN :fromMonth AND :toMonth " +
+            "GROUP BY r.yearMonth, r.transactionType")
+    List<MonthlyTypeTotal> sumByUserIdAndMonthBetweenGroupByType(UUID userId, String fromMonth, String toMonth);
+
+    List<MonthlyRollup> findByUserProfileIdAndYearMonthBetween(UUID userProfileId, String fromMonth, String toMonth);
+}
@@ -0,0 +1,29 @@
+package com.alpeerkaraca.fintrackserver.repository;
+
+import com.alpeerkaraca.fintrackserver.dto.TransactionRow;
+import com.alpeerkaraca.fintrackserver.model.Transaction;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read-only listing queries that select {@link TransactionRow}s with a constructor expression, so list endpoints do
+ * not load managed entities, snapshot them for dirty checking or initialise {@code UserProfile} proxies.
+ */
+public interface TransactionProjectionRepository {
+
+    Page<TransactionRow> findRows(Specification<Transaction> spec, Pageable pageable);
+
+    List<TransactionRow> findRows(Specification<Transaction> spec, Sort sort, Limit limit);
+
+    /**
+     * Reads rows through a forward-only cursor in fetch-size chunks. Must be consumed and closed inside the
+     * surrounding transaction; PostgreSQL only honours the fetch size when auto-commit is off.
+     */
+    Stream<TransactionRow> streamRows(Specification<Transaction> spec, Sort sort);
+}
@@ -0,0 +1,96 @@
+package com.alpeerkaraca.fintrackserver.repository;
+
+import com.alpeerkaraca.fintrackserver.dto.TransactionRow;
+import com.alpeerkaraca.fintrackserver.model.InstallmentMeta;
+import com.alpeerkaraca.fintrackserver.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class TransactionProjectionRepositoryImpl implements TransactionProjectionRepository {
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TransactionRow> findRows(Specification<Transaction> spec, Pageable pageable) {
+        TypedQuery<TransactionRow> query = rowQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        // Skips the count when the page itself shows where the result ends
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<TransactionRow> findRows(Specification<Transaction> spec, Sort sort, Limit limit) {
+        TypedQuery<TransactionRow> query = rowQuery(spec, sort);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<TransactionRow> streamRows(Specification<Transaction> spec, Sort sort) {
+        return rowQuery(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private TypedQuery<TransactionRow> rowQuery(Specification<Transaction> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionRow> query = cb.createQuery(TransactionRow.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Path<InstallmentMeta> installmentMeta = root.get("installmentMeta");
+
+        query.select(cb.construct(TransactionRow.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("amountTry"),
+                root.get("date"),
+                root.get("category"),
+                root.get("transactionType"),
+                root.get("paymentMethod"),
+                root.get("isInstallment"),
+                installmentMeta.get("totalTry"),
+                installmentMeta.get("months"),
+                installmentMeta.get("startMonth"),
+                installmentMeta.get("endMonth")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query).setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private long count(Specification<Transaction> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).setHint(HibernateHints.HINT_READ_ONLY, true).getSingleResult();
+    }
+}
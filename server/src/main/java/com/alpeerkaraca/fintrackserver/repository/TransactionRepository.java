@@ -1,5 +1,7 @@
 package com.alpeerkaraca.fintrackserver.repository;
 
+import com.alpeerkaraca.fintrackserver.dto.InstallmentPlan;
+import com.alpeerkaraca.fintrackserver.dto.MonthlyCategoryTotal;
 import com.alpeerkaraca.fintrackserver.model.PaymentMethod;
 import com.alpeerkaraca.fintrackserver.model.Transaction;
 import com.alpeerkaraca.fintrackserver.model.TransactionType;
@@ -20,7 +22,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, UUID>, JpaSpecificationExecutor<Transaction> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, JpaSpecificationExecutor<Transaction>,
+        TransactionProjectionRepository {
 
     Page<Transaction> findByUserProfileIdOrderByDateDesc(UUID userProfileId, Pageable pageable);
 
@@ -40,6 +43,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>,
             "WHERE t.userProfile.id = :userId " +
             "AND t.paymentMethod = 'CARD' " +
             "AND t.transactionType = 'EXPENSE' " +
+            "AND t.isInstallment = false " +
             "AND t.date >= :startDate AND t.date <= :endDate")
     Optional<BigDecimal> sumCardExpensesByUserIdAndPeriod(UUID userId, LocalDate startDate, LocalDate endDate);
 
@@ -48,5 +52,48 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>,
             "AND t.paymentMethod = :paymentMethod " +
             "AND t.transactionType = :transactionType ")
     List<Transaction> findByUserProfileIdAndPaymentMethodAndTransactionType(UUID userId, PaymentMethod paymentMethod, TransactionType transactionType);
+
+    /**
+     * Sums the monthly payments of installment plans running in the given month. An installment transaction's
+     * {@code amountTry} is its monthly payment, so no per-row division is needed.
+     *
+     * @param yearMonth month formatted as "YYYY-MM"
+     */
+    @Query("SELECT SUM(t.amountTry) FROM Transaction t " +
+            "WHERE t.userProfile.id = :userId " +
+            "AND t.isInstallment = true " +
+            "AND t.paymentMethod = :paymentMethod " +
+            "AND t.transactionType = :transactionType " +
+            "AND t.installmentMeta.startMonth <= :yearMonth " +
+            "AND t.installmentMeta.endMonth >= :yearMonth")
+    Optional<BigDecimal> sumActiveInstallments(UUID userId, PaymentMethod paymentMethod, TransactionType transactionType, String yearMonth);
+
+    /**
+     * Installment plans with at least one payment between the given months, for callers that need
+     * {@link #sumActiveInstallments} for every month of a range.
+     *
+     * @param fromMonth first month, formatted as "YYYY-MM"
+     * @param toMonth   last month, formatted as "YYYY-MM"
+     */
+    @Query("SELECT new com.alpeerkaraca.fintrackserver.dto.InstallmentPlan(" +
+            "t.amountTry, t.installmentMeta.startMonth, t.installmentMeta.endMonth) FROM Transaction t " +
+            "WHERE t.userProfile.id = :userId " +
+            "AND t.isInstallment = true " +
+            "AND t.paymentMethod = :paymentMethod " +
+            "AND t.transactionType = :transactionType " +
+            "AND t.installmentMeta.startMonth <= :toMonth " +
+            "AND t.installmentMeta.endMonth >= :fromMonth")
+    List<InstallmentPlan> findActiveInstallmentPlans(UUID userId, PaymentMethod paymentMethod, TransactionType transactionType,
+                                                     String fromMonth, String toMonth);
+
     List<Transaction> findByUserProfileIdAndDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT new com.alpeerkaraca.fintrackserver.dto.MonthlyCategoryTotal(" +
+            "EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.transactionType, t.category, " +
+            "SUM(t.amountTry), COUNT(t)) " +
+            "FROM Transaction t " +
+            "WHERE t.userProfile.id = :userId " +
+            "AND t.date >= :startDate AND t.date <= :endDate " +
+            "GROUP BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.transactionType, t.category")
+    List<MonthlyCategoryTotal> sumByMonthTypeAndCategory(UUID userId, LocalDate startDate, LocalDate endDate);
 }
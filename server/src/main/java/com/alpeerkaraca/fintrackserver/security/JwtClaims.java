@@ -0,0 +1,19 @@
+package com.alpeerkaraca.fintrackserver.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims of a token whose signature, issuer and audience have already been verified.
+ * Built once per request by {@link JwtService#verify(String, String)} so callers never re-parse the token.
+ */
+public record JwtClaims(
+        UUID userId,
+        String username,
+        String email,
+        List<String> roles,
+        String tokenType,
+        Instant expiresAt
+) {
+}
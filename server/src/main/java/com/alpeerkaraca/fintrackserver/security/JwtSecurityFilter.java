@@ -7,24 +7,24 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 @Component
 public class JwtSecurityFilter extends OncePerRequestFilter {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public JwtSecurityFilter(JwtService jwtService) {
+    public JwtSecurityFilter(JwtService jwtService, VerifiedTokenCache verifiedTokenCache) {
         this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Override
@@ -40,23 +40,17 @@ public class JwtSecurityFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (!jwtService.validateToken(access, "access")) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            return;
+        UserPrincipal principal = verifiedTokenCache.get(access).orElse(null);
+        if (principal == null) {
+            Optional<JwtClaims> claims = jwtService.verify(access, "access");
+            if (claims.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            principal = UserPrincipal.from(claims.get());
+            verifiedTokenCache.put(access, claims.get(), principal);
         }
         try {
-            String userId = jwtService.extractUserId(access);
-            String email = jwtService.extractEmail(access);
-            String username = jwtService.extractUsername(access);
-            List<String> roles = jwtService.extractRoles(access);
-
-            UserPrincipal principal = new UserPrincipal(
-                    UUID.fromString(userId),
-                    username,
-                    email,
-                    roles.stream().map(SimpleGrantedAuthority::new).toList()
-            );
-
             UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(
                             principal,
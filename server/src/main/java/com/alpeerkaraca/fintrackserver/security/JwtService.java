@@ -5,8 +5,10 @@ import com.alpeerkaraca.fintrackserver.exception.TokenGenerationException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -38,11 +40,29 @@ public class JwtService {
     @Value("${app.jwt.audience}")
     private String jwtAudience;
     private final MessageDigest digest;
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
 
     public JwtService() throws NoSuchAlgorithmException {
         this.digest = MessageDigest.getInstance("SHA-256");
     }
 
+    /**
+     * Builds the HMAC key and the verifying parser once; both are immutable and thread-safe.
+     */
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException("JWT secret must be at least 32 bytes (256 bits) long");
+        }
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .requireIssuer(jwtIssuer)
+                .requireAudience(jwtAudience)
+                .build();
+    }
 
     public TokenPair generateTokenPair(String userId, String email, String username, List<String> roles) {
         try {
@@ -78,18 +98,13 @@ public class JwtService {
                 .issuedAt(Date.from(now))
                 .issuer(jwtIssuer)
                 .expiration(Date.from(now.plusMillis(expirationMs)))
-                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .audience().add(jwtAudience).and().compact();
     }
 
     public Jws<Claims> parseAndVerify(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .requireIssuer(jwtIssuer)
-                    .requireAudience(jwtAudience)
-                    .build()
-                    .parseSignedClaims(token);
+            return jwtParser.parseSignedClaims(token);
         } catch (JwtException e) {
             log.debug("Failed to verify JWT: {}", e.getMessage());
             throw e;
@@ -105,6 +120,16 @@ public class JwtService {
      * @param expectedTokenType "access" or "refresh" (or null to accept either)
      */
     public boolean validateToken(String token, String expectedTokenType) {
+        return verify(token, expectedTokenType).isPresent();
+    }
+
+    /**
+     * Verifies the token and reads every claim the application needs in a single parse.
+     *
+     * @param expectedTokenType "access" or "refresh" (or null to accept either)
+     * @return the verified claims, or empty when the token is invalid, expired or of the wrong type
+     */
+    public Optional<JwtClaims> verify(String token, String expectedTokenType) {
         try {
             Claims claims = parseAndVerify(token).getPayload();
 
@@ -113,27 +138,30 @@ public class JwtService {
             String email = claims.get(CLAIM_EMAIL, String.class);
             String tokenType = claims.get(CLAIM_TOKEN_TYPE, String.class);
 
-            if (userId == null || userId.isBlank()) return false;
-            if (email == null || email.isBlank()) return false;
-            if (tokenType == null || tokenType.isBlank()) return false;
+            if (userId == null || userId.isBlank()) return Optional.empty();
+            if (email == null || email.isBlank()) return Optional.empty();
+            if (tokenType == null || tokenType.isBlank()) return Optional.empty();
 
-            if (expectedTokenType != null && !expectedTokenType.equals(tokenType)) return false;
+            if (expectedTokenType != null && !expectedTokenType.equals(tokenType)) return Optional.empty();
 
             Date exp = claims.getExpiration();
-            return exp != null && exp.after(Date.from(Instant.now()));
+            if (exp == null || !exp.after(Date.from(Instant.now()))) return Optional.empty();
+
+            List<?> rawRoles = claims.get(CLAIM_ROLES, List.class);
+            List<String> roles = rawRoles == null ? List.of() : rawRoles.stream().map(String::valueOf).toList();
+
+            return Optional.of(new JwtClaims(
+                    UUID.fromString(userId),
+                    claims.getSubject(),
+                    email,
+                    roles,
+                    tokenType,
+                    exp.toInstant()
+            ));
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid token: {}", e.getMessage());
-            return false;
-        }
-    }
-
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        if (keyBytes.length < 32) {
-            throw new IllegalStateException("JWT secret must be at least 32 bytes (256 bits) long");
+            return Optional.empty();
         }
-        return Keys.hmacShaKeyFor(keyBytes);
     }
 
     public String extractUsername(String jwtToken) {
@@ -1,6 +1,7 @@
 package com.alpeerkaraca.fintrackserver.security;
 
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
@@ -13,6 +14,15 @@ public record UserPrincipal(
         Collection<? extends GrantedAuthority> authorities
 ) implements UserDetails {
 
+    public static UserPrincipal from(JwtClaims claims) {
+        return new UserPrincipal(
+                claims.userId(),
+                claims.username(),
+                claims.email(),
+                claims.roles().stream().map(SimpleGrantedAuthority::new).toList()
+        );
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
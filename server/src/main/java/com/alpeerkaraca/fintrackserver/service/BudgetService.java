@@ -4,17 +4,21 @@ import com.alpeerkaraca.fintrackserver.dto.*;
 import com.alpeerkaraca.fintrackserver.model.*;
 import com.alpeerkaraca.fintrackserver.repository.BudgetCategoryRepository;
 import com.alpeerkaraca.fintrackserver.repository.BudgetMonthRepository;
+import com.alpeerkaraca.fintrackserver.repository.MonthlyRollupRepository;
 import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
 import com.alpeerkaraca.fintrackserver.repository.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,17 +35,20 @@ public class BudgetService {
     private static final String LIMIT_DANGER = "danger";
     private static final String LIMIT_WARNING = "warning";
     private static final String LIMIT_NORMAL = "normal";
+    private static final int DEFAULT_FORECAST_MONTHS = 3;
+    private static final int MAX_FORECAST_MONTHS = 24;
 
     private final BudgetMonthRepository budgetMonthRepository;
     private final BudgetCategoryRepository budgetCategoryRepository;
     private final TransactionRepository transactionRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
     private final UserProfileRepository userProfileRepository;
     private final TransactionService transactionService;
-    private final MarketDataService marketDataService;
+    private final MarketSnapshotService marketSnapshotService;
 
 
     public BudgetSummaryDto getBudgetSummary(UUID userId, Integer month, Integer year) {
-        BigDecimal usdTryRate = marketDataService.getUsdToTryInfo().price();
+        BigDecimal usdTryRate = marketSnapshotService.getUsdToTryInfo().price();
 
         Optional<BudgetMonth> budgetMonthOpt = budgetMonthRepository.findByUserProfileIdAndMonthAndYear(userId, month, year);
 
@@ -79,30 +86,58 @@ public class BudgetService {
     }
 
     public List<ForecastResponse> getBudgetForecast(UUID userId) {
-        List<ForecastResponse> forecastList = new ArrayList<>();
-        YearMonth current = YearMonth.now();
+        return getBudgetForecast(userId, DEFAULT_FORECAST_MONTHS, DEFAULT_FORECAST_MONTHS);
+    }
 
-        for (int i = -3; i <= 3; i++) {
+    /**
+     * Net savings from {@code monthsBack} months before the current month to {@code monthsAhead} months after it. A
+     * month with a saved budget uses its net savings; otherwise past months are computed from the rollups and card
+     * installments, and future months are zero. Runs at most three queries, whatever the window size.
+     */
+    public List<ForecastResponse> getBudgetForecast(UUID userId, int monthsBack, int monthsAhead) {
+        YearMonth current = YearMonth.now();
+        YearMonth first = current.minusMonths(Math.clamp(monthsBack, 0, MAX_FORECAST_MONTHS));
+        YearMonth last = current.plusMonths(Math.clamp(monthsAhead, 0, MAX_FORECAST_MONTHS));
+
+        Map<YearMonth, BigDecimal> savedSavings = new HashMap<>();
+        for (BudgetMonth bm : budgetMonthRepository.findByUserProfileIdAndYearBetween(userId, first.getYear(), last.getYear())) {
+            YearMonth month = YearMonth.of(bm.getYear(), bm.getMonth());
+            if (!month.isBefore(first) && !month.isAfter(last)) {
+                savedSavings.put(month, bm.getNetSavingsTry());
+            }
+        }
 
-            YearMonth target = current.plusMonths(i);
-            int targetMonth = target.getMonthValue();
-            int targetYear = target.getYear();
-            Optional<BudgetMonth> budgetMonthOpt = budgetMonthRepository.findByUserProfileIdAndMonthAndYear(userId, targetMonth, targetYear);
+        // Only months up to the current one fall back to transaction totals
+        List<YearMonth> pastMonths = monthsBetween(first, current);
+        Map<String, BigDecimal> savingsByMonth = new HashMap<>();
+        if (!savedSavings.keySet().containsAll(pastMonths)) {
+            String fromMonth = first.toString();
+            String toMonth = current.toString();
+            for (MonthlyTypeTotal total : monthlyRollupRepository.sumByUserIdAndMonthBetweenGroupByType(userId, fromMonth, toMonth)) {
+                BigDecimal signed = total.transactionType() == TransactionType.INCOME ? total.totalTry() : total.totalTry().negate();
+                savingsByMonth.merge(total.yearMonth(), signed, BigDecimal::add);
+            }
+            List<InstallmentPlan> plans = transactionRepository.findActiveInstallmentPlans(
+                    userId, PaymentMethod.CARD, TransactionType.EXPENSE, fromMonth, toMonth);
+            for (InstallmentPlan plan : plans) {
+                for (YearMonth month : pastMonths) {
+                    if (plan.isActiveIn(month.toString())) {
+                        savingsByMonth.merge(month.toString(), plan.monthlyAmountTry().negate(), BigDecimal::add);
+                    }
+                }
+            }
+        }
 
+        List<ForecastResponse> forecastList = new ArrayList<>();
+        for (YearMonth target : monthsBetween(first, last)) {
             BigDecimal savings;
-
-            if (budgetMonthOpt.isPresent()) {
-                savings = budgetMonthOpt.get().getNetSavingsTry();
+            if (savedSavings.containsKey(target)) {
+                savings = savedSavings.get(target);
+            } else if (target.isAfter(current)) {
+                savings = BigDecimal.ZERO;
             } else {
-                if (target.isAfter(current)) {
-                    savings = BigDecimal.ZERO;
-                } else {
-                    BigDecimal income = calculateIncomesMonthly(userId, targetMonth, targetYear);
-                    BigDecimal expense = calculateExpensesMonthly(userId, targetMonth, targetYear);
-                    savings = income.subtract(expense);
-                }
+                savings = savingsByMonth.getOrDefault(target.toString(), BigDecimal.ZERO);
             }
-
             forecastList.add(new ForecastResponse(
                     target.toString(),
                     target.getMonth().name().substring(0, 3),
@@ -112,6 +147,15 @@ public class BudgetService {
         return forecastList;
     }
 
+    private static List<YearMonth> monthsBetween(YearMonth first, YearMonth last) {
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    @Transactional(readOnly = true)
     public List<BudgetCategoryResponse> getCategoryWatchlist(UUID userId, Integer month, Integer year) {
         Optional<BudgetMonth> budgetMonthOpt = budgetMonthRepository.findByUserProfileIdAndMonthAndYear(userId, month, year);
 
@@ -123,7 +167,7 @@ public class BudgetService {
             categoryList = new ArrayList<>();
         }
 
-        TransactionFilter filter = new TransactionFilter(month, year, null, null, true);
+        TransactionFilter filter = TransactionFilter.builder().month(month).year(year).expanded(true).build();
         List<TransactionDto> monthlyTransactions = transactionService.getFilteredTransactions(userId, filter);
 
         return categoryList.stream().map(cat -> {
@@ -143,59 +187,30 @@ public class BudgetService {
 
     private BigDecimal calculateCreditCardUsed(UUID userId, Integer month, Integer year) {
         YearMonth targetMonth = YearMonth.of(year, month);
-        List<Transaction> cardTransactions = transactionRepository.findByUserProfileIdAndPaymentMethodAndTransactionType(
-                userId, PaymentMethod.CARD, TransactionType.EXPENSE);
-        return cardTransactions.stream()
-                .map(t -> {
-                    if (!Boolean.TRUE.equals(t.getIsInstallment())) {
-                        if (YearMonth.from(t.getDate()).equals(targetMonth)) return t.getAmountTry();
-                        return BigDecimal.ZERO;
-                    }
-                    if (t.getInstallmentMeta() != null) {
-                        YearMonth start = YearMonth.parse(t.getInstallmentMeta().getStartMonth());
-                        YearMonth end = start.plusMonths(t.getInstallmentMeta().getMonths() - 1);
-                        if (!targetMonth.isBefore(start) && !targetMonth.isAfter(end)) {
-                            return t.getInstallmentMeta().getTotalTry()
-                                    .divide(BigDecimal.valueOf(t.getInstallmentMeta().getMonths()), 2, RoundingMode.HALF_UP);
-                        }
-                    }
-                    return BigDecimal.ZERO;
-                }).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal singlePayments = transactionRepository.sumCardExpensesByUserIdAndPeriod(
+                        userId, targetMonth.atDay(1), targetMonth.atEndOfMonth())
+                .orElse(BigDecimal.ZERO);
+        return singlePayments.add(calculateInstallmentExpenses(userId, month, year));
     }
 
     private BigDecimal calculateIncomesMonthly(UUID userId, Integer month, Integer year) {
-        YearMonth targetMonth = YearMonth.of(year, month);
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = LocalDate.of(year, month, targetMonth.lengthOfMonth());
-        return transactionRepository.sumAmountByUserIdAndMonthAndYearAndType(
-                        userId, startDate, endDate, com.alpeerkaraca.fintrackserver.model.TransactionType.INCOME)
+        return monthlyRollupRepository.sumByUserIdAndMonthAndType(
+                        userId, YearMonth.of(year, month).toString(), TransactionType.INCOME)
                 .orElse(BigDecimal.ZERO);
     }
 
     private BigDecimal calculateExpensesMonthly(UUID userId, Integer month, Integer year) {
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = LocalDate.of(year, month, YearMonth.of(year, month).lengthOfMonth());
-        BigDecimal nonInstallmentExpenses = transactionRepository.sumAmountByUserIdAndMonthAndYearAndType(
-                        userId, startDate, endDate, com.alpeerkaraca.fintrackserver.model.TransactionType.EXPENSE)
+        BigDecimal nonInstallmentExpenses = monthlyRollupRepository.sumByUserIdAndMonthAndType(
+                        userId, YearMonth.of(year, month).toString(), TransactionType.EXPENSE)
                 .orElse(BigDecimal.ZERO);
         BigDecimal installmentExpenses = calculateInstallmentExpenses(userId, month, year);
         return nonInstallmentExpenses.add(installmentExpenses);
     }
 
     private BigDecimal calculateInstallmentExpenses(UUID userId, Integer month, Integer year) {
-        List<Transaction> cardTransactions = transactionRepository.findByUserProfileIdAndPaymentMethodAndTransactionType(
-                userId, PaymentMethod.CARD, TransactionType.EXPENSE);
-        YearMonth targetMonth = YearMonth.of(year, month);
-        return cardTransactions.stream()
-                .filter(t -> Boolean.TRUE.equals(t.getIsInstallment()) && t.getInstallmentMeta() != null)
-                .map(t -> {
-                    YearMonth start = YearMonth.parse(t.getInstallmentMeta().getStartMonth());
-                    YearMonth end = start.plusMonths(t.getInstallmentMeta().getMonths() - 1);
-                    if (targetMonth.isBefore(start) || targetMonth.isAfter(end)) return BigDecimal.ZERO;
-                    return t.getInstallmentMeta().getTotalTry()
-                            .divide(BigDecimal.valueOf(t.getInstallmentMeta().getMonths()), 2, RoundingMode.HALF_UP);
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return transactionRepository.sumActiveInstallments(
+                        userId, PaymentMethod.CARD, TransactionType.EXPENSE, YearMonth.of(year, month).toString())
+                .orElse(BigDecimal.ZERO);
     }
 
     public String getBudgetAlerts(UUID userId) {
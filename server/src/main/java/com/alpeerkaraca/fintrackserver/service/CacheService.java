@@ -1,45 +1,99 @@
 package com.alpeerkaraca.fintrackserver.service;
 
-import lombok.RequiredArgsConstructor;
+import com.alpeerkaraca.fintrackserver.config.TwoTierCacheManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.UUID;
 
+/**
+ * Per-user invalidation for the {@code reportSummary} and {@code overviews} caches.
+ * <p>
+ * Every user has a generation counter that is embedded in those cache keys. A write bumps the counter with a
+ * single INCR, so later lookups miss and the entries written under the old generation age out through their TTL.
+ * No keys are scanned or deleted; each bump is counted as {@code fintrack.cache.user.invalidations}.
+ * <p>
+ * Building a key must not cost a Redis round trip, or the near cache in front of those caches would save nothing.
+ * Generations are therefore held in a small local cache: a bump updates it and is broadcast on the cache
+ * invalidation channel, and Redis is only read on a local miss. Local entries expire as fast as the L1 entries, so a
+ * lost bump message heals just as quickly.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CacheService {
-    private static final String REPORT_SUMMARY_CACHE_PREFIX = "reportSummary";
-    private static final String OVERVIEW_CACHE_PREFIX = "overviews";
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String GENERATION_KEY_PREFIX = "cacheGeneration::";
+    private static final String INVALIDATION_COUNTER = "fintrack.cache.user.invalidations";
+    // Name on the invalidation channel; not a cache
+    private static final String GENERATION_CHANNEL_NAME = "cacheGeneration";
+    private static final long LOCAL_MAX_ENTRIES = 10_000;
+    private static final Duration LOCAL_TTL = Duration.ofSeconds(30);
 
-    public void evictUserReportSummaryCache(UUID userId) {
-        String pattern = REPORT_SUMMARY_CACHE_PREFIX + "::" + userId.toString() + "_*";
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TwoTierCacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final Cache<UUID, Long> generations = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAX_ENTRIES)
+            .expireAfterWrite(LOCAL_TTL)
+            .build();
 
-        Set<String> keys = redisTemplate.keys(pattern);
+    public CacheService(StringRedisTemplate stringRedisTemplate, TwoTierCacheManager cacheManager,
+                        MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        cacheManager.addInvalidationListener(GENERATION_CHANNEL_NAME, this::onRemoteBump);
+    }
 
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("Evicted {} report summary cache entries for user {}, at {}", keys.size(), userId, System.currentTimeMillis());
-        }
+    public long currentGeneration(UUID userId) {
+        return generations.get(userId, this::readGeneration);
     }
 
-    public void evictUserDashboardSummaryCache(UUID userId) {
-        String pattern = OVERVIEW_CACHE_PREFIX + "::" + userId.toString() + ":*";
+    public String overviewKey(UUID userId, Integer year, Integer month) {
+        return String.format("%s:g%d:%04d-%02d", userId, currentGeneration(userId), year, month);
+    }
 
-        Set<String> keys = redisTemplate.keys(pattern);
+    public String reportSummaryKey(UUID userId, LocalDate startDate, LocalDate endDate) {
+        return userId + "_g" + currentGeneration(userId) + "_" + startDate + "_" + endDate;
+    }
 
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("Evicted {} dashboard overview cache entries for user {}, at {}", keys.size(), userId, System.currentTimeMillis());
+    public void evictAllUserCaches(UUID userId) {
+        Long generation = stringRedisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + userId);
+        if (generation != null) {
+            advance(userId, generation);
+            cacheManager.publishInvalidation(GENERATION_CHANNEL_NAME, userId + ":" + generation);
+        } else {
+            generations.invalidate(userId);
         }
+        meterRegistry.counter(INVALIDATION_COUNTER).increment();
+        log.info("Bumped cache generation for user {} to {}", userId, generation);
     }
 
-    public void evictAllUserCaches(UUID userId) {
-        evictUserReportSummaryCache(userId);
-        evictUserDashboardSummaryCache(userId);
+    private long readGeneration(UUID userId) {
+        String value = stringRedisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + userId);
+        return value == null ? 0L : Long.parseLong(value);
+    }
+
+    // Bumps can arrive out of order, so the local generation only ever moves forward
+    private void advance(UUID userId, long generation) {
+        generations.asMap().merge(userId, generation, Math::max);
+    }
+
+    private void onRemoteBump(String key) {
+        String[] parts = key == null ? new String[0] : key.split(":", 2);
+        if (parts.length != 2) {
+            generations.invalidateAll();
+            return;
+        }
+        try {
+            advance(UUID.fromString(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed cache generation bump {}", key);
+        }
     }
 }
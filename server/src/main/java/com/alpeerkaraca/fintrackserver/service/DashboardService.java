@@ -1,36 +1,72 @@
 package com.alpeerkaraca.fintrackserver.service;
 
 import com.alpeerkaraca.fintrackserver.dto.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.*;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class DashboardService {
+    private static final String SECTION_SUMMARY = "summary";
+    private static final String SECTION_FORECAST = "forecast";
+    private static final String SECTION_CATEGORY_WATCHLIST = "categoryWatchlist";
+    private static final String SECTION_INVESTMENTS = "investments";
+    private static final String SECTION_USD_TRY_RATE = "currentUsdTryRate";
+    private static final String SECTION_TIMER = "fintrack.dashboard.section";
+    private static final String SECTION_UNAVAILABLE_COUNTER = "fintrack.dashboard.section.unavailable";
 
     private final BudgetService budgetService;
     private final InvestmentService investmentService;
-    private final MarketDataService marketDataService;
+    private final MarketSnapshotService marketSnapshotService;
     private final TransactionService transactionService;
+    private final ExecutorService virtualThreadExecutor;
+    private final MeterRegistry meterRegistry;
+    @Value("${app.dashboard.section-timeout-ms:3000}")
+    private long sectionTimeoutMs;
 
-    @Cacheable(value = "overviews",
-            key = "T(String).format('%s:%04d-%02d', #userId, #year, #month)")
+    /**
+     * Builds the dashboard sections concurrently, one virtual thread each.
+     * <p>
+     * All sections share a single deadline of {@code app.dashboard.section-timeout-ms}. A section that fails or is
+     * still running at the deadline is cancelled and reported in {@code unavailableSections}; such partial results
+     * are not cached.
+     * <p>
+     * Each section's run time is recorded as {@code fintrack.dashboard.section} and every unavailable section is
+     * counted as {@code fintrack.dashboard.section.unavailable}, tagged with the section and the reason.
+     */
+    @Cacheable(value = "overviews", key = "@cacheService.overviewKey(#userId, #year, #month)",
+            unless = "!#result.unavailableSections().isEmpty()")
     public DashboardOverviewCore getOverviewCore(UUID userId, Integer month, Integer year) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
 
-        BudgetSummaryDto summary = budgetService.getBudgetSummary(userId, month, year);
-        List<ForecastResponse> forecast = budgetService.getBudgetForecast(userId);
-        List<BudgetCategoryResponse> categoryWatchList = budgetService.getCategoryWatchlist(userId, month, year);
-        List<InvestmentAssetDto> investments = investmentService.getUserPortfolio(userId);
-        BigDecimal currentUsdTryRate = marketDataService.getUsdToTryInfo().price();
+        Future<BudgetSummaryDto> summaryTask = submit(SECTION_SUMMARY, () -> budgetService.getBudgetSummary(userId, month, year));
+        Future<List<ForecastResponse>> forecastTask = submit(SECTION_FORECAST, () -> budgetService.getBudgetForecast(userId));
+        Future<List<BudgetCategoryResponse>> categoryWatchListTask = submit(SECTION_CATEGORY_WATCHLIST, () -> budgetService.getCategoryWatchlist(userId, month, year));
+        Future<List<InvestmentAssetDto>> investmentsTask = submit(SECTION_INVESTMENTS, () -> investmentService.getUserPortfolio(userId));
+        Future<BigDecimal> usdTryRateTask = submit(SECTION_USD_TRY_RATE, () -> marketSnapshotService.getUsdToTryInfo().price());
+
+        List<String> unavailableSections = new ArrayList<>();
+        BudgetSummaryDto summary = await(SECTION_SUMMARY, summaryTask, deadline, null, unavailableSections);
+        List<ForecastResponse> forecast = await(SECTION_FORECAST, forecastTask, deadline, List.of(), unavailableSections);
+        List<BudgetCategoryResponse> categoryWatchList = await(SECTION_CATEGORY_WATCHLIST, categoryWatchListTask, deadline, List.of(), unavailableSections);
+        List<InvestmentAssetDto> investments = await(SECTION_INVESTMENTS, investmentsTask, deadline, List.of(), unavailableSections);
+        BigDecimal currentUsdTryRate = await(SECTION_USD_TRY_RATE, usdTryRateTask, deadline, null, unavailableSections);
 
         return DashboardOverviewCore.builder()
                 .summary(summary)
@@ -38,6 +74,7 @@ public class DashboardService {
                 .categoryWatchlist(categoryWatchList)
                 .investments(investments)
                 .currentUsdTryRate(currentUsdTryRate)
+                .unavailableSections(unavailableSections)
                 .build();
     }
 
@@ -51,12 +88,53 @@ public class DashboardService {
         Page<TransactionDto> recentTransactions = transactionService.getFilteredTransactions(userId, filter, pageable, true);
 
         return DashboardOverviewResponse.builder()
-                .summary(core.getSummary())
-                .forecast(core.getForecast())
-                .categoryWatchlist(core.getCategoryWatchlist())
-                .investments(core.getInvestments())
-                .currentUsdTryRate(core.getCurrentUsdTryRate())
+                .summary(core.summary())
+                .forecast(core.forecast())
+                .categoryWatchlist(core.categoryWatchlist())
+                .investments(core.investments())
+                .currentUsdTryRate(core.currentUsdTryRate())
+                .unavailableSections(core.unavailableSections())
                 .recentTransactions(PageDtos.of(recentTransactions))
                 .build();
     }
+
+    private <T> Future<T> submit(String name, Callable<T> section) {
+        // Carry the request attributes over so the section shares this request's market snapshot
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return virtualThreadExecutor.submit(() -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "error";
+            try {
+                T result = section.call();
+                outcome = "success";
+                return result;
+            } finally {
+                sample.stop(meterRegistry.timer(SECTION_TIMER, "section", name, "outcome", outcome));
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    private <T> T await(String section, Future<T> task, long deadlineNanos, T fallback, List<String> unavailableSections) {
+        try {
+            return task.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Dashboard section {} did not finish within {} ms", section, sectionTimeoutMs);
+            countUnavailable(section, "timeout");
+        } catch (ExecutionException e) {
+            log.warn("Dashboard section {} failed: {}", section, e.getCause().getMessage());
+            countUnavailable(section, "error");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            countUnavailable(section, "interrupted");
+        }
+        task.cancel(true);
+        unavailableSections.add(section);
+        return fallback;
+    }
+
+    private void countUnavailable(String section, String reason) {
+        meterRegistry.counter(SECTION_UNAVAILABLE_COUNTER, "section", section, "reason", reason).increment();
+    }
 }
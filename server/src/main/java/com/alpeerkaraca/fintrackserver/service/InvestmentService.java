@@ -22,24 +22,33 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
-import java.util.UUID;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InvestmentService {
     private final InvestmentAssetRepository assetRepository;
-    private final PriceService priceService;
     private final UserProfileRepository userProfileRepository;
-    private final MarketDataService marketDataService;
+    private final MarketSnapshotService marketSnapshotService;
     private final CacheService cacheService;
 
 
     public List<InvestmentAssetDto> getUserPortfolio(UUID userId) {
         List<InvestmentAsset> assets = assetRepository.findByUserProfileId(userId);
 
-        return assets.stream().map(this::convertToDto).toList();
+        // One bulk price lookup per asset type and market instead of one upstream call per asset
+        Map<PriceGroup, Set<String>> symbolsByGroup = assets.stream()
+                .collect(Collectors.groupingBy(PriceGroup::of,
+                        Collectors.mapping(InvestmentAsset::getSymbol, Collectors.toSet())));
+        Map<PriceGroup, Map<String, InvestmentExternalDto>> pricesByGroup = new HashMap<>();
+        symbolsByGroup.forEach((group, symbols) -> pricesByGroup.put(group, fetchInfos(group, symbols)));
+
+        return assets.stream()
+                .map(asset -> convertToDto(asset, pricesByGroup.get(PriceGroup.of(asset)).get(asset.getSymbol())))
+                .toList();
     }
 
     @Transactional
@@ -50,9 +59,9 @@ public class InvestmentService {
             throw new AssetAlreadyExistsException("Asset with symbol " + dto.getSymbol() + " already exists in portfolio. Please update the existing asset instead of adding as new one.");
         }
         if (dto.getStockMarket() == null) dto.setStockMarket(StockMarket.OTHER);
-        InvestmentExternalDto assetInfo = priceService.getInfo(dto.getAssetType(), dto.getSymbol().toUpperCase(), dto.getStockMarket());
+        InvestmentExternalDto assetInfo = marketSnapshotService.getInfo(dto.getAssetType(), dto.getSymbol().toUpperCase(), dto.getStockMarket());
         BigDecimal rate = dto.getStockMarket().getCurrency().equalsIgnoreCase("TRY") ?
-                BigDecimal.ONE : marketDataService.getUsdToTryInfo().price();
+                BigDecimal.ONE : marketSnapshotService.getUsdToTryInfo().price();
         BigDecimal totalCostTry = dto.getAvgCost().multiply(dto.getQuantity()).multiply(rate);
 
         InvestmentAsset newAsset = InvestmentAsset.builder()
@@ -91,7 +100,7 @@ public class InvestmentService {
 
         BigDecimal rate = BigDecimal.ONE;
         if ("USD".equalsIgnoreCase(asset.getPurchaseCurrency())) {
-            rate = marketDataService.getUsdToTryInfo().price();
+            rate = marketSnapshotService.getUsdToTryInfo().price();
         }
 
         asset.setTotalCostTry(asset.getQuantity()
@@ -122,10 +131,31 @@ public class InvestmentService {
     }
 
 
+    private Map<String, InvestmentExternalDto> fetchInfos(PriceGroup group, Set<String> symbols) {
+        try {
+            return marketSnapshotService.getInfos(group.type(), symbols, group.market());
+        } catch (Exception e) {
+            log.warn("Failed to fetch current prices for {} {}: {}", group.type(), symbols, e.getMessage());
+            return Map.of();
+        }
+    }
+
     private InvestmentAssetDto convertToDto(InvestmentAsset asset) {
-        BigDecimal currentPriceTry = getCurrentPrice(asset);
+        InvestmentExternalDto info = null;
+        try {
+            info = marketSnapshotService.getInfo(asset.getType(), asset.getSymbol(), asset.getStockMarket());
+        } catch (Exception e) {
+            log.debug("Price lookup failed for asset {}: {}", asset.getSymbol(), e.getMessage());
+        }
+        return convertToDto(asset, info);
+    }
+
+    private InvestmentAssetDto convertToDto(InvestmentAsset asset, InvestmentExternalDto info) {
+        BigDecimal marketPriceTry = getCurrentPrice(asset, info);
+        BigDecimal currentPriceTry = marketPriceTry != null ? marketPriceTry
+                : asset.getTotalCostTry().divide(asset.getQuantity(), 2, RoundingMode.HALF_UP);
         BigDecimal currentPriceOriginal = asset.getStockMarket().getCurrency().equalsIgnoreCase("TRY") ?
-                currentPriceTry : currentPriceTry.divide(marketDataService.getUsdToTryInfo().price(), 6, RoundingMode.HALF_UP);
+                currentPriceTry : currentPriceTry.divide(marketSnapshotService.getUsdToTryInfo().price(), 6, RoundingMode.HALF_UP);
 
         BigDecimal totalValue = asset.getQuantity().multiply(currentPriceTry);
         BigDecimal profitLoss = totalValue.subtract(asset.getTotalCostTry());
@@ -135,6 +165,7 @@ public class InvestmentService {
             changePercent = profitLoss.divide(asset.getTotalCostTry(), 6, RoundingMode.HALF_UP)
                     .multiply(BigDecimal.valueOf(100));
         }
+        Instant priceAsOf = marketPriceTry != null ? info.fetchedAt() : null;
         return InvestmentAssetDto.builder()
                 .id(asset.getId())
                 .symbol(asset.getSymbol())
@@ -150,21 +181,34 @@ public class InvestmentService {
                 .assetType(asset.getType())
                 .stockMarket(asset.getStockMarket())
                 .stockMarketDisplayName(asset.getStockMarket().getLabel())
+                .priceAsOf(priceAsOf)
                 .build();
     }
 
-    private BigDecimal getCurrentPrice(InvestmentAsset asset) {
+    /**
+     * @return the market price in TRY, or null when none is available and the average cost has to stand in
+     */
+    private BigDecimal getCurrentPrice(InvestmentAsset asset, InvestmentExternalDto info) {
+        if (info == null) {
+            log.warn("No current price for asset {}, using average cost", asset.getSymbol());
+            return null;
+        }
         try {
-            InvestmentExternalDto info = priceService.getInfo(asset.getType(), asset.getSymbol(), asset.getStockMarket());
             BigDecimal price = info.price();
             if ("USD".equals(asset.getStockMarket().getCurrency())) {
-                BigDecimal usdRate = priceService.getInfo(AssetType.CURRENCY, null, null).price();
+                BigDecimal usdRate = marketSnapshotService.getUsdToTryInfo().price();
                 price = price.multiply(usdRate);
             }
             return price;
         } catch (Exception e) {
             log.warn("Failed to fetch current price for asset {}: {}", asset.getSymbol(), e.getMessage());
-            return asset.getTotalCostTry().divide(asset.getQuantity(), 2, RoundingMode.HALF_UP);
+            return null;
+        }
+    }
+
+    private record PriceGroup(AssetType type, StockMarket market) {
+        static PriceGroup of(InvestmentAsset asset) {
+            return new PriceGroup(asset.getType(), asset.getStockMarket());
         }
     }
 }
@@ -0,0 +1,76 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.MarketPrice;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+import com.alpeerkaraca.fintrackserver.repository.MarketPriceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent last-known-good prices, used when an upstream provider is slow or down.
+ */
+@Service
+@RequiredArgsConstructor
+public class LastKnownPriceService {
+    private final MarketPriceRepository marketPriceRepository;
+
+    /**
+     * @return stored prices keyed by symbol, each carrying the time it was fetched
+     */
+    @Transactional(readOnly = true)
+    public Map<String, InvestmentExternalDto> find(AssetType type, StockMarket market, Collection<String> symbols) {
+        if (symbols.isEmpty()) {
+            return Map.of();
+        }
+        return marketPriceRepository.findByAssetTypeAndStockMarketAndSymbolIn(type, normalize(market), symbols).stream()
+                .collect(Collectors.toMap(MarketPrice::getSymbol,
+                        p -> new InvestmentExternalDto(p.getName(), p.getPrice(), p.getFetchedAt())));
+    }
+
+    /**
+     * Stores the fresh prices that are newer than what is already known. Values re-served from a cache keep their
+     * original fetch time, so they do not cause a write.
+     */
+    @Transactional
+    public void record(AssetType type, StockMarket market, Map<String, InvestmentExternalDto> fresh) {
+        if (fresh.isEmpty()) {
+            return;
+        }
+        StockMarket normalizedMarket = normalize(market);
+        Map<String, MarketPrice> stored = marketPriceRepository
+                .findByAssetTypeAndStockMarketAndSymbolIn(type, normalizedMarket, fresh.keySet()).stream()
+                .collect(Collectors.toMap(MarketPrice::getSymbol, Function.identity()));
+
+        List<MarketPrice> changed = new ArrayList<>();
+        fresh.forEach((symbol, info) -> {
+            Instant fetchedAt = info.fetchedAt() != null ? info.fetchedAt() : Instant.now();
+            MarketPrice price = stored.get(symbol);
+            if (price == null) {
+                price = MarketPrice.builder()
+                        .assetType(type)
+                        .stockMarket(normalizedMarket)
+                        .symbol(symbol)
+                        .build();
+            } else if (!fetchedAt.isAfter(price.getFetchedAt())) {
+                return;
+            }
+            price.setName(info.name());
+            price.setPrice(info.price());
+            price.setFetchedAt(fetchedAt);
+            changed.add(price);
+        });
+        marketPriceRepository.saveAll(changed);
+    }
+
+    private static StockMarket normalize(StockMarket market) {
+        return market != null ? market : StockMarket.OTHER;
+    }
+}
@@ -0,0 +1,155 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.config.TwoTierCacheManager;
+import com.alpeerkaraca.fintrackserver.dto.TrackedSymbol;
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+import com.alpeerkaraca.fintrackserver.repository.InvestmentAssetRepository;
+import com.alpeerkaraca.fintrackserver.strategy.investments.StockPriceStrategy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the market data caches warm for every symbol held in {@code investment_assets}.
+ * <p>
+ * Each job re-fetches its symbols shortly before the cache TTL runs out and overwrites the entries, so portfolio
+ * requests for held assets are served from the cache instead of waiting on an upstream provider.
+ * <p>
+ * Every node schedules the jobs, but each run first takes a Redis run lock, so one node per tick calls the
+ * rate-limited upstreams and writes the shared entries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.market-data.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class MarketDataRefresher {
+    // Shorter than the most frequent job's 4-minute interval, far longer than clock skew between nodes
+    private static final Duration RUN_LOCK_TTL = Duration.ofMinutes(3);
+
+    private final InvestmentAssetRepository assetRepository;
+    private final MarketDataService marketDataService;
+    private final ExecutorService virtualThreadExecutor;
+    private final TwoTierCacheManager cacheManager;
+
+    // Uses its own lock so that a warm-up does not take the daily jobs' locks and make them skip their next run
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        virtualThreadExecutor.execute(() -> {
+            if (!acquireRunLock("warmUp")) {
+                return;
+            }
+            doRefreshExchangeRate();
+            doRefreshStocks();
+            doRefreshMetals();
+            doRefreshFunds();
+        });
+    }
+
+    // stockPrices and metalPrices live for 5 minutes, so they are rewritten every 4
+    @Scheduled(cron = "0 */4 * * * *", zone = "Europe/Istanbul")
+    public void refreshStocks() {
+        if (acquireRunLock("stockPrices")) {
+            doRefreshStocks();
+        }
+    }
+
+    @Scheduled(cron = "30 */4 * * * *", zone = "Europe/Istanbul")
+    public void refreshMetals() {
+        if (acquireRunLock("metalPrices")) {
+            doRefreshMetals();
+        }
+    }
+
+    @Scheduled(cron = "0 5 10 * * *", zone = "Europe/Istanbul")
+    public void refreshFunds() {
+        if (acquireRunLock("fundPrices")) {
+            doRefreshFunds();
+        }
+    }
+
+    @Scheduled(cron = "0 5 0 * * *", zone = "Europe/Istanbul")
+    public void refreshExchangeRate() {
+        if (acquireRunLock("exchangeRates")) {
+            doRefreshExchangeRate();
+        }
+    }
+
+    private boolean acquireRunLock(String job) {
+        if (cacheManager.tryAcquireRunLock("marketDataRefresh::" + job, RUN_LOCK_TTL)) {
+            return true;
+        }
+        log.debug("Skipping {} refresh, another node is running it", job);
+        return false;
+    }
+
+    private void doRefreshStocks() {
+        List<String> symbols = assetRepository.findDistinctTrackedSymbols().stream()
+                .filter(this::isYahooListed)
+                .map(tracked -> StockPriceStrategy.toYahooSymbol(tracked.symbol(), tracked.stockMarket()))
+                .distinct()
+                .toList();
+        if (symbols.isEmpty()) {
+            return;
+        }
+        int refreshed = marketDataService.refreshStockInfos(symbols);
+        log.info("Refreshed {}/{} stockPrices at {}", refreshed, symbols.size(), LocalDateTime.now());
+    }
+
+    private void doRefreshMetals() {
+        refreshEach("metalPrices", trackedSymbols(AssetType.GOLD_SILVER), marketDataService::refreshMetalInfo);
+    }
+
+    private void doRefreshFunds() {
+        List<String> codes = assetRepository.findDistinctTrackedSymbols().stream()
+                .filter(tracked -> tracked.type() == AssetType.FUND && !isYahooListed(tracked))
+                .map(TrackedSymbol::symbol)
+                .distinct()
+                .toList();
+        refreshEach("fundPrices", codes, marketDataService::refreshFundInfo);
+    }
+
+    private void doRefreshExchangeRate() {
+        refreshEach("exchangeRates", List.of("USD_TRY"), ignored -> marketDataService.refreshUsdToTryInfo());
+    }
+
+    private List<String> trackedSymbols(AssetType type) {
+        return assetRepository.findDistinctTrackedSymbols().stream()
+                .filter(tracked -> tracked.type() == type)
+                .map(TrackedSymbol::symbol)
+                .distinct()
+                .toList();
+    }
+
+    private boolean isYahooListed(TrackedSymbol tracked) {
+        return tracked.type() == AssetType.STOCK
+                || (tracked.type() == AssetType.FUND
+                && (tracked.stockMarket() == StockMarket.NASDAQ || tracked.stockMarket() == StockMarket.NYSE));
+    }
+
+    private void refreshEach(String cacheName, List<String> keys, Consumer<String> refresher) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        int refreshed = 0;
+        for (String key : keys) {
+            try {
+                refresher.accept(key);
+                refreshed++;
+            } catch (Exception e) {
+                log.warn("Failed to refresh {}:{}, keeping the cached value: {}", cacheName, key, e.getMessage());
+            }
+        }
+        log.info("Refreshed {}/{} {} at {}", refreshed, keys.size(), cacheName, LocalDateTime.now());
+    }
+}
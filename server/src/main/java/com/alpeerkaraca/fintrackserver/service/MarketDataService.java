@@ -5,16 +5,19 @@ import com.alpeerkaraca.fintrackserver.dto.FundResponse;
 import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
 import com.alpeerkaraca.fintrackserver.exception.AssetNotFoundException;
 import com.alpeerkaraca.fintrackserver.exception.MarketDataFetchException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatusCode;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
@@ -22,28 +25,45 @@ import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.Callable;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MarketDataService {
-    private static final String URL = "https://v6.exchangerate-api.com/v6/{API_URL}/pair/USD/TRY";
+    private static final String EXCHANGE_RATE_PATH = "/v6/{API_URL}/pair/USD/TRY";
+    private static final String SPARK_PATH = "/v7/finance/spark?symbols={symbols}&range=1d&interval=1d";
+    // Yahoo's spark endpoint rejects requests with more symbols than this
+    private static final int SPARK_MAX_SYMBOLS = 20;
+    // Tagged with upstream, host and outcome
+    private static final String UPSTREAM_TIMER = "fintrack.upstream.requests";
     private final RestClient restClient;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
     @Value("${app.exchange.api-key}")
     private String exchangeApiKey;
+    // Upstream base URLs, overridable to point the app at a stub server (see the load test)
+    @Value("${app.market-data.upstream.exchange-rate-url:https://v6.exchangerate-api.com}")
+    private String exchangeRateBaseUrl;
+    @Value("${app.market-data.upstream.yahoo-url:https://query1.finance.yahoo.com}")
+    private String yahooBaseUrl;
+    @Value("${app.market-data.upstream.fundfy-url:https://api.fundfy.net}")
+    private String fundfyBaseUrl;
+    @Value("${app.market-data.upstream.bloomberght-url:https://bloomberght.com}")
+    private String bloombergHtBaseUrl;
 
-    @Cacheable(value = "exchangeRates", key = "'USD_TRY'")
+    @Cacheable(value = "exchangeRates", key = "'USD_TRY'", sync = true)
     public InvestmentExternalDto getUsdToTryInfo() {
         try {
-            String url = URL.replace("API_URL", exchangeApiKey);
-            ExchangeRateResponse response = restClient.get()
-                    .uri(URL, exchangeApiKey)
+            ExchangeRateResponse response = timed("exchange-rate", exchangeRateBaseUrl, () -> restClient.get()
+                    .uri(exchangeRateBaseUrl + EXCHANGE_RATE_PATH, exchangeApiKey)
                     .retrieve()
                     .onStatus(HttpStatusCode::is4xxClientError, (request, res) -> {
                         throw new RuntimeException("API Key is invalid or has exceeded its usage limits.");
                     })
-                    .body(ExchangeRateResponse.class);
+                    .body(ExchangeRateResponse.class));
             if (response != null
                     && "success".equalsIgnoreCase(response.result())
                     && response.conversion_rate() != null) {
@@ -58,15 +78,15 @@ public class MarketDataService {
         }
     }
 
-    @Cacheable(value = "metalPrices", key = "#metalName.toLowerCase()")
+    @Cacheable(value = "metalPrices", key = "#metalName.toLowerCase()", sync = true)
     public InvestmentExternalDto getMetalInfo(String metalName) {
         try {
-            String url = "https://bloomberght.com/" + metalName.toLowerCase();
-            Document doc = Jsoup
+            String url = bloombergHtBaseUrl + "/" + metalName.toLowerCase();
+            Document doc = timed("bloomberght", bloombergHtBaseUrl, () -> Jsoup
                     .connect(url)
                     .header("Accept", "application/json, text/html")
                     .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                    .get();
+                    .get());
             Element priceElement = doc
                     .select("[class^=security-] span")
                     .first();
@@ -87,17 +107,17 @@ public class MarketDataService {
     }
 
 
-    @Cacheable(value = "fundPrices", key = "#fundCode.toUpperCase()")
+    @Cacheable(value = "fundPrices", key = "#fundCode.toUpperCase()", sync = true)
     public InvestmentExternalDto getFundInfo(String fundCode) {
         try {
-            String url = "https://api.fundfy.net/api/v1/fund/detail/{fundCode}";
-            FundResponse response = restClient.get()
+            String url = fundfyBaseUrl + "/api/v1/fund/detail/{fundCode}";
+            FundResponse response = timed("fundfy", fundfyBaseUrl, () -> restClient.get()
                     .uri(url, fundCode.toUpperCase())
                     .retrieve()
                     .onStatus(HttpStatusCode::is4xxClientError, (request, res) -> {
                         throw new AssetNotFoundException("Fund not found for code: " + fundCode);
                     })
-                    .body(FundResponse.class);
+                    .body(FundResponse.class));
 
             if (response == null || response.price() == null) {
                 throw new MarketDataFetchException("Invalid response from fundfy API for fund: " + fundCode);
@@ -116,11 +136,11 @@ public class MarketDataService {
         }
     }
 
-    @Cacheable(value = "stockPrices", key = "#symbol.toUpperCase()")
+    @Cacheable(value = "stockPrices", key = "#symbol.toUpperCase()", sync = true)
     public InvestmentExternalDto getStockInfo(String symbol) {
         try {
-            String url = "https://query1.finance.yahoo.com/v8/finance/chart/{symbol}";
-            String response = restClient.get()
+            String url = yahooBaseUrl + "/v8/finance/chart/{symbol}";
+            String response = timed("yahoo-chart", yahooBaseUrl, () -> restClient.get()
                     .uri(url, symbol.toUpperCase())
                     .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/144.0.0.0 Safari/537.36")
                     .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8")
@@ -138,7 +158,7 @@ public class MarketDataService {
                     .header("Sec-Fetch-User", "?1")
                     .header("Upgrade-Insecure-Requests", "1")
                     .retrieve()
-                    .body(String.class);
+                    .body(String.class));
             JsonNode root = new ObjectMapper().readTree(response);
             JsonNode meta = root.path("chart").path("result").get(0).path("meta");
 
@@ -158,27 +178,201 @@ public class MarketDataService {
     }
 
 
-    @Scheduled(cron = "0 5 0 * * *", zone = "Europe/Istanbul")
-    @CacheEvict(cacheNames = "exchangeRates", key = "'USD_TRY'")
-    public void evictExchangeNightly() {
-        log.info("Evicted exchangeRates:USD_TRY at {}", LocalDateTime.now());
+    /**
+     * Bulk variant of {@link #getStockInfo(String)} backed by the same {@code stockPrices} cache. Cached symbols are
+     * served from the cache and the rest are fetched from Yahoo in multi-symbol requests.
+     * <p>
+     * Misses are loaded through {@link Cache#get(Object, Callable)}, so they share the cache's single-flight and load
+     * lease with {@code getStockInfo}: concurrent callers missing the same symbols wait for one request instead of
+     * each sending their own.
+     *
+     * @return quotes keyed by upper-cased symbol; symbols that could not be priced are absent
+     */
+    public Map<String, InvestmentExternalDto> getStockInfos(Collection<String> symbols) {
+        Cache cache = cacheManager.getCache("stockPrices");
+        Map<String, InvestmentExternalDto> result = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            String key = symbol.toUpperCase();
+            InvestmentExternalDto cached = cache != null ? cache.get(key, InvestmentExternalDto.class) : null;
+            if (cached != null) {
+                result.put(key, cached);
+            } else {
+                misses.add(key);
+            }
+        }
+
+        List<String> pending = new ArrayList<>(misses);
+        for (int from = 0; from < pending.size(); from += SPARK_MAX_SYMBOLS) {
+            List<String> chunk = pending.subList(from, Math.min(from + SPARK_MAX_SYMBOLS, pending.size()));
+            if (cache == null) {
+                result.putAll(fetchStockChunk(chunk));
+                continue;
+            }
+            SparkChunk spark = new SparkChunk(cache, chunk);
+            for (String key : chunk) {
+                try {
+                    InvestmentExternalDto info = cache.get(key, () -> spark.load(key));
+                    if (info != null) {
+                        result.put(key, info);
+                    }
+                } catch (Cache.ValueRetrievalException e) {
+                    // already logged by getStockInfo
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Quotes of one chunk of cache misses, requested by whichever of the chunk's loaders runs first. The other quotes
+     * are written to the cache right away, so their own loads and concurrent callers find them there.
+     */
+    private final class SparkChunk {
+        private final Cache cache;
+        private final List<String> symbols;
+        private Map<String, InvestmentExternalDto> quotes;
+
+        private SparkChunk(Cache cache, List<String> symbols) {
+            this.cache = cache;
+            this.symbols = symbols;
+        }
+
+        private InvestmentExternalDto load(String symbol) {
+            if (quotes == null) {
+                quotes = fetchSparkQuotes(symbols);
+                quotes.forEach((key, info) -> {
+                    if (!key.equals(symbol)) {
+                        cache.put(key, info);
+                    }
+                });
+            }
+            InvestmentExternalDto info = quotes.get(symbol);
+            // Already inside this symbol's single-flight load, so going through the @Cacheable proxy would wait on itself
+            return info != null ? info : getStockInfo(symbol);
+        }
+    }
+
+    /**
+     * Fetches the symbols in one spark request and falls back to single chart requests for those it did not price.
+     * Does not read or write the cache.
+     */
+    private Map<String, InvestmentExternalDto> fetchStockChunk(List<String> symbols) {
+        Map<String, InvestmentExternalDto> infos = fetchSparkQuotes(symbols);
+        for (String symbol : symbols) {
+            if (!infos.containsKey(symbol)) {
+                try {
+                    infos.put(symbol, getStockInfo(symbol));
+                } catch (MarketDataFetchException e) {
+                    // already logged by getStockInfo
+                }
+            }
+        }
+        return infos;
+    }
+
+    private Map<String, InvestmentExternalDto> fetchSparkQuotes(List<String> symbols) {
+        Map<String, InvestmentExternalDto> infos = new HashMap<>();
+        try {
+            String response = timed("yahoo-spark", yahooBaseUrl, () -> restClient.get()
+                    .uri(yahooBaseUrl + SPARK_PATH, String.join(",", symbols))
+                    .retrieve()
+                    .body(String.class));
+            JsonNode results = new ObjectMapper().readTree(response).path("spark").path("result");
+            for (int i = 0; i < results.size(); i++) {
+                JsonNode result = results.get(i);
+                JsonNode meta = result.path("response").path(0).path("meta");
+                if (meta.isMissingNode() || !meta.path("regularMarketPrice").isNumber()) {
+                    continue;
+                }
+                String symbol = result.path("symbol").asText().toUpperCase();
+                String name = meta.path("longName").asText();
+                if (name.isBlank()) {
+                    name = meta.path("shortName").asText();
+                }
+                infos.put(symbol, new InvestmentExternalDto(name, meta.path("regularMarketPrice").decimalValue()));
+            }
+        } catch (Exception e) {
+            log.warn("Bulk stock price request failed for {}, falling back to single requests: {}", symbols, e.getMessage());
+        }
+        return infos;
+    }
+
+    /**
+     * Re-fetches the given symbols in bulk and overwrites their {@code stockPrices} entries without reading the cache.
+     *
+     * @return number of symbols that were refreshed
+     */
+    public int refreshStockInfos(Collection<String> symbols) {
+        Cache cache = cacheManager.getCache("stockPrices");
+        List<String> pending = symbols.stream().map(String::toUpperCase).distinct().toList();
+        int refreshed = 0;
+        for (int from = 0; from < pending.size(); from += SPARK_MAX_SYMBOLS) {
+            List<String> chunk = pending.subList(from, Math.min(from + SPARK_MAX_SYMBOLS, pending.size()));
+            Map<String, InvestmentExternalDto> fetched = fetchStockChunk(chunk);
+            if (cache != null) {
+                fetched.forEach(cache::put);
+            }
+            refreshed += fetched.size();
+        }
+        return refreshed;
+    }
+
+    // The refresh* methods below call the @Cacheable getters on this instance, which bypasses the cache proxy, so
+    // they always hit the upstream and @CachePut overwrites the entry. A failed fetch leaves the current entry alone.
+
+    @CachePut(value = "exchangeRates", key = "'USD_TRY'")
+    public InvestmentExternalDto refreshUsdToTryInfo() {
+        return getUsdToTryInfo();
+    }
+
+    @CachePut(value = "metalPrices", key = "#metalName.toLowerCase()")
+    public InvestmentExternalDto refreshMetalInfo(String metalName) {
+        return getMetalInfo(metalName);
     }
 
-    @Scheduled(cron = "0 5 10 * * *", zone = "Europe/Istanbul")
-    @CacheEvict(value = "fundPrices", allEntries = true)
-    public void evictFundsDaily() {
-        log.info("Evicted all fundPrices at {}", LocalDateTime.now());
+    @CachePut(value = "fundPrices", key = "#fundCode.toUpperCase()")
+    public InvestmentExternalDto refreshFundInfo(String fundCode) {
+        return getFundInfo(fundCode);
     }
 
-    @Scheduled(cron = "0 */5 * * * *", zone = "Europe/Istanbul")
-    @CacheEvict(value = "metalPrices", allEntries = true)
-    public void evictMetalsEvery5Minutes() {
-        log.info("Evicted all metalPrices at {}", LocalDateTime.now());
+    // Cache-only lookups for callers that must not wait on an upstream; the keys match the @Cacheable keys above
+
+    public InvestmentExternalDto cachedUsdToTryInfo() {
+        return cached("exchangeRates", "USD_TRY");
+    }
+
+    public InvestmentExternalDto cachedMetalInfo(String metalName) {
+        return cached("metalPrices", metalName.toLowerCase());
     }
 
-    @Scheduled(cron = "0 */5 * * * *", zone = "Europe/Istanbul")
-    @CacheEvict(value = "stockPrices", allEntries = true)
-    public void evictStocksEvery5Minutes() {
-        log.info("Evicted all stockPrices at {}", LocalDateTime.now());
+    public InvestmentExternalDto cachedFundInfo(String fundCode) {
+        return cached("fundPrices", fundCode.toUpperCase());
+    }
+
+    public InvestmentExternalDto cachedStockInfo(String symbol) {
+        return cached("stockPrices", symbol.toUpperCase());
+    }
+
+    private InvestmentExternalDto cached(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache != null ? cache.get(key, InvestmentExternalDto.class) : null;
+    }
+
+    /**
+     * Times one upstream call under {@value #UPSTREAM_TIMER}, tagged with the upstream, its host and whether the call
+     * returned or threw.
+     */
+    private <T> T timed(String upstream, String baseUrl, Callable<T> call) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer(UPSTREAM_TIMER,
+                    "upstream", upstream, "host", String.valueOf(URI.create(baseUrl).getHost()), "outcome", outcome));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Request-scoped view of market data.
+ * <p>
+ * The first lookup of a rate or price within an HTTP request goes through {@link PriceService} (and therefore the
+ * price caches and the last-known-good store); later lookups in the same request reuse that value, so a
+ * single response is always computed with one USD/TRY rate. Outside a request, calls are delegated directly.
+ */
+@Service
+@RequiredArgsConstructor
+public class MarketSnapshotService {
+    private static final String SNAPSHOT_ATTRIBUTE = MarketSnapshotService.class.getName() + ".SNAPSHOT";
+    private static final String USD_TRY_KEY = "USD_TRY";
+
+    private final PriceService priceService;
+
+    public InvestmentExternalDto getUsdToTryInfo() {
+        return resolve(USD_TRY_KEY, () -> priceService.getInfo(AssetType.CURRENCY, USD_TRY_KEY, StockMarket.OTHER));
+    }
+
+    public InvestmentExternalDto getInfo(AssetType type, String symbol, StockMarket market) {
+        if (type == AssetType.CURRENCY) {
+            return getUsdToTryInfo();
+        }
+        return resolve(snapshotKey(type, symbol, market), () -> priceService.getInfo(type, symbol, market));
+    }
+
+    /**
+     * Bulk variant of {@link #getInfo}: symbols already resolved in this request are reused and the rest are priced
+     * with one {@link PriceService#getInfos} call.
+     *
+     * @return prices keyed by the given symbols; symbols that could not be priced are absent
+     */
+    public Map<String, InvestmentExternalDto> getInfos(AssetType type, Collection<String> symbols, StockMarket market) {
+        Map<String, InvestmentExternalDto> infos = new HashMap<>();
+        if (type == AssetType.CURRENCY) {
+            InvestmentExternalDto usdTry = getUsdToTryInfo();
+            symbols.forEach(symbol -> infos.put(symbol, usdTry));
+            return infos;
+        }
+
+        Map<String, InvestmentExternalDto> snapshot = currentSnapshot();
+        List<String> missing = new ArrayList<>();
+        for (String symbol : symbols) {
+            InvestmentExternalDto existing = snapshot != null ? snapshot.get(snapshotKey(type, symbol, market)) : null;
+            if (existing != null) {
+                infos.put(symbol, existing);
+            } else {
+                missing.add(symbol);
+            }
+        }
+        if (missing.isEmpty()) {
+            return infos;
+        }
+
+        priceService.getInfos(type, missing, market).forEach((symbol, loaded) -> {
+            InvestmentExternalDto raced = snapshot != null
+                    ? snapshot.putIfAbsent(snapshotKey(type, symbol, market), loaded)
+                    : null;
+            infos.put(symbol, raced != null ? raced : loaded);
+        });
+        return infos;
+    }
+
+    private String snapshotKey(AssetType type, String symbol, StockMarket market) {
+        return type + ":" + symbol + ":" + market;
+    }
+
+    private InvestmentExternalDto resolve(String key, Supplier<InvestmentExternalDto> loader) {
+        Map<String, InvestmentExternalDto> snapshot = currentSnapshot();
+        if (snapshot == null) {
+            return loader.get();
+        }
+        InvestmentExternalDto existing = snapshot.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        // Loaded outside the map lock; the first value stored wins so every reader sees the same price
+        InvestmentExternalDto loaded = loader.get();
+        InvestmentExternalDto raced = snapshot.putIfAbsent(key, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, InvestmentExternalDto> currentSnapshot() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        synchronized (attributes) {
+            Object snapshot = attributes.getAttribute(SNAPSHOT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (snapshot == null) {
+                snapshot = new ConcurrentHashMap<String, InvestmentExternalDto>();
+                attributes.setAttribute(SNAPSHOT_ATTRIBUTE, snapshot, RequestAttributes.SCOPE_REQUEST);
+            }
+            return (Map<String, InvestmentExternalDto>) snapshot;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.MonthlyCategoryTotal;
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.MonthlyRollup;
+import com.alpeerkaraca.fintrackserver.model.PaymentMethod;
+import com.alpeerkaraca.fintrackserver.model.Transaction;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+import com.alpeerkaraca.fintrackserver.repository.MonthlyRollupRepository;
+import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Maintains {@code monthly_rollups}, the per-month totals of each user's transactions.
+ * <p>
+ * Writers call {@link #record} / {@link #recordAll} inside the transaction that inserts the {@code transactions} rows,
+ * so the rollup never disagrees with the table it summarises. Transactions are never updated or deleted today; a
+ * future write path that does so has to subtract the old row's bucket in the same transaction. Rows that existed
+ * before the table was introduced are backfilled by the V6 migration.
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Transaction transaction) {
+        apply(Bucket.of(transaction), transaction.getAmountTry(), 1);
+    }
+
+    /**
+     * Records a batch of new transactions, writing each month, type, category and payment method bucket once with the
+     * batch's summed delta instead of once per transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<Transaction> transactions) {
+        Map<Bucket, BigDecimal> amounts = new LinkedHashMap<>();
+        Map<Bucket, Long> counts = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            Bucket bucket = Bucket.of(transaction);
+            amounts.merge(bucket, transaction.getAmountTry(), BigDecimal::add);
+            counts.merge(bucket, 1L, Long::sum);
+        }
+        amounts.forEach((bucket, amount) -> apply(bucket, amount, counts.get(bucket)));
+    }
+
+    private void apply(Bucket bucket, BigDecimal amount, long count) {
+        monthlyRollupRepository.upsert(bucket.userId(), bucket.yearMonth(), bucket.type().name(),
+                bucket.category().name(), bucket.paymentMethod() == null ? null : bucket.paymentMethod().name(),
+                amount, count);
+    }
+
+    private record Bucket(UUID userId, String yearMonth, TransactionType type, Category category,
+                          PaymentMethod paymentMethod) {
+        static Bucket of(Transaction transaction) {
+            return new Bucket(transaction.getUserProfile().getId(), YearMonth.from(transaction.getDate()).toString(),
+                    transaction.getTransactionType(), transaction.getCategory(), transaction.getPaymentMethod());
+        }
+    }
+
+    /**
+     * Totals per month, type and category for a date range. Whole calendar months are read from the rollup; the days
+     * of a partially covered first or last month are still aggregated from {@code transactions}.
+     * <p>
+     * A month, type and category may appear more than once (one row per payment method).
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyCategoryTotal> totalsBetween(UUID userId, LocalDate startDate, LocalDate endDate) {
+        YearMonth firstFullMonth = startDate.getDayOfMonth() == 1
+                ? YearMonth.from(startDate) : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFullMonth = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+                ? YearMonth.from(endDate) : YearMonth.from(endDate).minusMonths(1);
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            return transactionRepository.sumByMonthTypeAndCategory(userId, startDate, endDate);
+        }
+
+        List<MonthlyCategoryTotal> totals = new ArrayList<>();
+        if (startDate.isBefore(firstFullMonth.atDay(1))) {
+            totals.addAll(transactionRepository.sumByMonthTypeAndCategory(
+                    userId, startDate, firstFullMonth.atDay(1).minusDays(1)));
+        }
+        for (MonthlyRollup rollup : monthlyRollupRepository.findByUserProfileIdAndYearMonthBetween(
+                userId, firstFullMonth.toString(), lastFullMonth.toString())) {
+            YearMonth month = YearMonth.parse(rollup.getYearMonth());
+            totals.add(new MonthlyCategoryTotal(month.getYear(), month.getMonthValue(), rollup.getTransactionType(),
+                    rollup.getCategory(), rollup.getTotalTry(), rollup.getTransactionCount()));
+        }
+        if (endDate.isAfter(lastFullMonth.atEndOfMonth())) {
+            totals.addAll(transactionRepository.sumByMonthTypeAndCategory(
+                    userId, lastFullMonth.plusMonths(1).atDay(1), endDate));
+        }
+        return totals;
+    }
+}
@@ -1,26 +1,214 @@
 package com.alpeerkaraca.fintrackserver.service;
 
 import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
+import com.alpeerkaraca.fintrackserver.exception.MarketDataFetchException;
 import com.alpeerkaraca.fintrackserver.model.AssetType;
 import com.alpeerkaraca.fintrackserver.model.InvestmentAsset;
 import com.alpeerkaraca.fintrackserver.model.StockMarket;
 import com.alpeerkaraca.fintrackserver.strategy.investments.PriceStrategy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 
+/**
+ * Prices instruments through the matching {@link PriceStrategy}, backed by the last-known-good price store.
+ * <p>
+ * When every requested price is already cached, the lookup is answered on the calling thread. Otherwise the strategy
+ * call runs on a virtual thread. If it has not answered within {@code app.market-data.stale-serve-after-ms} and every
+ * requested symbol has a stored price, the stored prices are served and the fetch finishes in the background
+ * (stale-while-revalidate). Symbols the upstream fails to price also fall back to the store.
+ * <p>
+ * A price is written to the store once per fetch: prices whose fetch time this node already stored are skipped
+ * without scheduling a write.
+ * <p>
+ * Strategy calls are timed as {@code fintrack.price.fetch} and answers from the store are counted as
+ * {@code fintrack.price.fallbacks}, both tagged with the asset type.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class PriceService {
+    private static final String FETCH_TIMER = "fintrack.price.fetch";
+    private static final String FALLBACK_COUNTER = "fintrack.price.fallbacks";
+    private static final long STORED_FETCH_TIMES_MAX_ENTRIES = 10_000;
+    // Forgetting an entry only costs one redundant store lookup, which the store's own timestamp check absorbs
+    private static final Duration STORED_FETCH_TIMES_TTL = Duration.ofHours(1);
+
     private final List<PriceStrategy> strategies;
+    private final LastKnownPriceService lastKnownPriceService;
+    private final ExecutorService virtualThreadExecutor;
+    private final MeterRegistry meterRegistry;
+    // Fetch time of the newest price already written to the store, to skip writes for prices re-served from a cache
+    private final Cache<String, Instant> storedFetchTimes = Caffeine.newBuilder()
+            .maximumSize(STORED_FETCH_TIMES_MAX_ENTRIES)
+            .expireAfterWrite(STORED_FETCH_TIMES_TTL)
+            .build();
+    @Value("${app.market-data.stale-serve-after-ms:250}")
+    private long staleServeAfterMs;
 
     public InvestmentExternalDto getInfo(AssetType type, String symbol, StockMarket market) {
+        PriceStrategy strategy = strategyFor(type);
+        return resolve(type, List.of(symbol), market, "single", strategy,
+                () -> Map.of(symbol, strategy.fetchInfo(symbol, market)))
+                .get(symbol);
+    }
+
+    /**
+     * Prices every symbol of one asset type and market with a single strategy call.
+     *
+     * @return prices keyed by the given symbols; symbols that could not be priced are absent
+     */
+    public Map<String, InvestmentExternalDto> getInfos(AssetType type, Collection<String> symbols, StockMarket market) {
+        PriceStrategy strategy = strategyFor(type);
+        return resolve(type, symbols, market, "bulk", strategy, () -> strategy.fetchInfos(symbols, market));
+    }
+
+    private Map<String, InvestmentExternalDto> resolve(AssetType type, Collection<String> symbols, StockMarket market,
+                                                       String operation, PriceStrategy strategy,
+                                                       Supplier<Map<String, InvestmentExternalDto>> fetch) {
+        Map<String, InvestmentExternalDto> cached = cachedInfos(strategy, symbols, market);
+        if (cached.keySet().containsAll(symbols)) {
+            rememberNewer(type, market, cached);
+            return cached;
+        }
+
+        CompletableFuture<Map<String, InvestmentExternalDto>> pending = CompletableFuture.supplyAsync(
+                () -> timed(type, market, operation, fetch), virtualThreadExecutor);
+        pending.thenAccept(fresh -> rememberNewer(type, market, fresh));
+
+        try {
+            Map<String, InvestmentExternalDto> fresh = await(pending, staleServeAfterMs);
+            if (fresh == null) {
+                Map<String, InvestmentExternalDto> known = lastKnownPriceService.find(type, market, symbols);
+                if (known.keySet().containsAll(symbols)) {
+                    log.info("Upstream slow for {} {}, serving last known prices while revalidating", type, symbols);
+                    countFallback(type, "slow");
+                    return known;
+                }
+                fresh = await(pending, -1);
+            }
+            Map<String, InvestmentExternalDto> fetched = fresh;
+            if (fetched.keySet().containsAll(symbols)) {
+                return fetched;
+            }
+
+            List<String> missing = symbols.stream().filter(symbol -> !fetched.containsKey(symbol)).toList();
+            Map<String, InvestmentExternalDto> merged = new HashMap<>(lastKnownPriceService.find(type, market, missing));
+            if (!merged.isEmpty()) {
+                countFallback(type, "missing");
+            }
+            merged.putAll(fetched);
+            return merged;
+        } catch (RuntimeException e) {
+            Map<String, InvestmentExternalDto> known = lastKnownPriceService.find(type, market, symbols);
+            if (!known.keySet().containsAll(symbols)) {
+                throw e;
+            }
+            log.warn("Failed to fetch {} {}, serving last known prices: {}", type, symbols, e.getMessage());
+            countFallback(type, "failed");
+            return known;
+        }
+    }
+
+    private Map<String, InvestmentExternalDto> cachedInfos(PriceStrategy strategy, Collection<String> symbols,
+                                                           StockMarket market) {
+        try {
+            return strategy.cachedInfos(symbols, market);
+        } catch (RuntimeException e) {
+            // An unreachable cache just means fetching through the strategy
+            log.debug("Cache lookup failed for {}: {}", symbols, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private Map<String, InvestmentExternalDto> timed(AssetType type, StockMarket market, String operation,
+                                                     Supplier<Map<String, InvestmentExternalDto>> fetch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Map<String, InvestmentExternalDto> fetched = fetch.get();
+            outcome = "success";
+            return fetched;
+        } finally {
+            sample.stop(meterRegistry.timer(FETCH_TIMER, "type", type.name(), "market", String.valueOf(market),
+                    "operation", operation, "outcome", outcome));
+        }
+    }
+
+    private void countFallback(AssetType type, String reason) {
+        meterRegistry.counter(FALLBACK_COUNTER, "type", type.name(), "reason", reason).increment();
+    }
+
+    /**
+     * @param timeoutMs how long to wait, or a negative value to wait for completion
+     * @return the fetched prices, or null when the timeout elapsed first
+     */
+    private Map<String, InvestmentExternalDto> await(CompletableFuture<Map<String, InvestmentExternalDto>> pending, long timeoutMs) {
+        try {
+            return timeoutMs < 0 ? pending.get() : pending.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new MarketDataFetchException("Failed to fetch prices", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketDataFetchException("Interrupted while fetching prices", e);
+        }
+    }
+
+    /**
+     * Schedules a store write for the prices fetched after the ones this node last stored. Prices re-served from a
+     * cache keep their fetch time, so they are written once per upstream fetch (including the refresher's) and later
+     * lookups schedule nothing.
+     */
+    private void rememberNewer(AssetType type, StockMarket market, Map<String, InvestmentExternalDto> prices) {
+        Map<String, InvestmentExternalDto> newer = new HashMap<>();
+        prices.forEach((symbol, info) -> {
+            Instant stored = storedFetchTimes.getIfPresent(storedKey(type, market, symbol));
+            if (info.fetchedAt() != null && (stored == null || info.fetchedAt().isAfter(stored))) {
+                newer.put(symbol, info);
+            }
+        });
+        if (newer.isEmpty()) {
+            return;
+        }
+        // Marked before the write so concurrent lookups of the same prices do not schedule it again
+        newer.forEach((symbol, info) -> storedFetchTimes.put(storedKey(type, market, symbol), info.fetchedAt()));
+        virtualThreadExecutor.execute(() -> remember(type, market, newer));
+    }
+
+    private void remember(AssetType type, StockMarket market, Map<String, InvestmentExternalDto> newer) {
+        try {
+            lastKnownPriceService.record(type, market, newer);
+        } catch (Exception e) {
+            log.warn("Failed to store last known prices for {} {}: {}", type, newer.keySet(), e.getMessage());
+            newer.keySet().forEach(symbol -> storedFetchTimes.invalidate(storedKey(type, market, symbol)));
+        }
+    }
+
+    private static String storedKey(AssetType type, StockMarket market, String symbol) {
+        return type + ":" + market + ":" + symbol;
+    }
+
+    private PriceStrategy strategyFor(AssetType type) {
         return strategies.stream()
                 .filter(s -> s.supports(type))
                 .findFirst()
-                .map(s -> s.fetchInfo(symbol, market))
                 .orElseThrow(() -> new IllegalArgumentException("Unsupported asset type: " + type));
     }
 }
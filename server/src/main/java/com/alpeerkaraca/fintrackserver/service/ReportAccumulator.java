@@ -0,0 +1,84 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Single-pass accumulator for report totals.
+ * <p>
+ * Amounts are kept as {@code long} kuruş (minor units) in flat arrays indexed by month offset, transaction type
+ * ordinal and category ordinal, and only turned back into {@link BigDecimal} when the response is built.
+ */
+final class ReportAccumulator {
+    private static final int SCALE = 2;
+    private static final int TYPES = TransactionType.values().length;
+    private static final int CATEGORIES = Category.values().length;
+
+    private final YearMonth firstMonth;
+    private final int months;
+    // [month * TYPES + type]
+    private final long[] monthTypeTotals;
+    // [type * CATEGORIES + category]
+    private final long[] categoryTypeTotals;
+    private final long[] categoryTypeCounts;
+    private final long[] typeTotals = new long[TYPES];
+    private long transactionCount;
+
+    ReportAccumulator(YearMonth firstMonth, YearMonth lastMonth) {
+        this.firstMonth = firstMonth;
+        this.months = Math.max((int) ChronoUnit.MONTHS.between(firstMonth, lastMonth) + 1, 0);
+        this.monthTypeTotals = new long[months * TYPES];
+        this.categoryTypeTotals = new long[TYPES * CATEGORIES];
+        this.categoryTypeCounts = new long[TYPES * CATEGORIES];
+    }
+
+    void add(YearMonth month, TransactionType type, Category category, BigDecimal amountTry, long count) {
+        int monthIndex = (int) ChronoUnit.MONTHS.between(firstMonth, month);
+        if (monthIndex < 0 || monthIndex >= months) {
+            return;
+        }
+        long minorUnits = amountTry.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        int typeIndex = type.ordinal();
+        int monthSlot = monthIndex * TYPES + typeIndex;
+        int categorySlot = typeIndex * CATEGORIES + category.ordinal();
+
+        monthTypeTotals[monthSlot] = Math.addExact(monthTypeTotals[monthSlot], minorUnits);
+        categoryTypeTotals[categorySlot] = Math.addExact(categoryTypeTotals[categorySlot], minorUnits);
+        categoryTypeCounts[categorySlot] += count;
+        typeTotals[typeIndex] = Math.addExact(typeTotals[typeIndex], minorUnits);
+        transactionCount += count;
+    }
+
+    int months() {
+        return months;
+    }
+
+    BigDecimal total(TransactionType type) {
+        return toDecimal(typeTotals[type.ordinal()]);
+    }
+
+    BigDecimal monthTotal(int monthIndex, TransactionType type) {
+        return toDecimal(monthTypeTotals[monthIndex * TYPES + type.ordinal()]);
+    }
+
+    /**
+     * @return the category total, or null when no transaction was recorded for it
+     */
+    BigDecimal categoryTotal(TransactionType type, Category category) {
+        int categorySlot = type.ordinal() * CATEGORIES + category.ordinal();
+        return categoryTypeCounts[categorySlot] == 0 ? null : toDecimal(categoryTypeTotals[categorySlot]);
+    }
+
+    long transactionCount() {
+        return transactionCount;
+    }
+
+    private static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
@@ -1,9 +1,9 @@
 package com.alpeerkaraca.fintrackserver.service;
 
+import com.alpeerkaraca.fintrackserver.dto.MonthlyCategoryTotal;
 import com.alpeerkaraca.fintrackserver.dto.frontend.ReportSummaryResponse;
-import com.alpeerkaraca.fintrackserver.model.Transaction;
+import com.alpeerkaraca.fintrackserver.model.Category;
 import com.alpeerkaraca.fintrackserver.model.TransactionType;
-import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -18,19 +18,25 @@ import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ReportService {
-    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupService monthlyRollupService;
 
-    @Cacheable(value = "reportSummary", key = "#userId + '_' + #startDate + '_' + #endDate")
+    @Cacheable(value = "reportSummary", key = "@cacheService.reportSummaryKey(#userId, #startDate, #endDate)")
     public ReportSummaryResponse getReportSummary(UUID userId, LocalDate startDate, LocalDate endDate) {
-        List<Transaction> transactions = transactionRepository.findByUserProfileIdAndDateBetween(userId, startDate, endDate);
+        // Whole months come from the rollup table; only partially covered edge months touch transactions
+        List<MonthlyCategoryTotal> totals = monthlyRollupService.totalsBetween(userId, startDate, endDate);
 
-        BigDecimal totalIncome = calculateTotalByType(transactions, TransactionType.INCOME);
-        BigDecimal totalExpense = calculateTotalByType(transactions, TransactionType.EXPENSE);
+        ReportAccumulator accumulator = new ReportAccumulator(YearMonth.from(startDate), YearMonth.from(endDate));
+        for (MonthlyCategoryTotal total : totals) {
+            accumulator.add(YearMonth.of(total.year(), total.month()), total.transactionType(), total.category(),
+                    total.totalTry(), total.transactionCount());
+        }
+
+        BigDecimal totalIncome = accumulator.total(TransactionType.INCOME);
+        BigDecimal totalExpense = accumulator.total(TransactionType.EXPENSE);
         BigDecimal netSavings = totalIncome.subtract(totalExpense);
         Double savingsRate = calculateSavingsRate(totalIncome, netSavings);
 
@@ -40,8 +46,8 @@ public class ReportService {
         BigDecimal avgSavings = calculateAverage(netSavings, monthsDiff);
 
 
-        List<ReportSummaryResponse.MonthlySeriesItem> monthlySeries = generateMonthlySeries(transactions, startDate, endDate);
-        List<ReportSummaryResponse.CategoryBreakdownItem> categoryBreakdown = generateCategoryBreakdown(transactions);
+        List<ReportSummaryResponse.MonthlySeriesItem> monthlySeries = generateMonthlySeries(accumulator, startDate);
+        List<ReportSummaryResponse.CategoryBreakdownItem> categoryBreakdown = generateCategoryBreakdown(accumulator);
         ReportSummaryResponse.CategoryBreakdownItem topCategory = categoryBreakdown.isEmpty() ? null : categoryBreakdown.getFirst();
 
         return ReportSummaryResponse.builder()
@@ -67,7 +73,7 @@ public class ReportService {
                 .metadata(ReportSummaryResponse.ReportMetadata.builder()
                         .generatedAt(LocalDateTime.now())
                         .dataPoints(ReportSummaryResponse.ReportMetadata.DataPoints.builder()
-                                .transactions(transactions.size())
+                                .transactions((int) accumulator.transactionCount())
                                 .months(monthsDiff)
                                 .categories(categoryBreakdown.size())
                                 .build())
@@ -75,15 +81,6 @@ public class ReportService {
                 .build();
     }
 
-    private BigDecimal calculateTotalByType(List<Transaction> transactions, TransactionType type) {
-        if (transactions == null || transactions.isEmpty()) return BigDecimal.ZERO;
-
-        return transactions.stream()
-                .filter(t -> t.getTransactionType() == type)
-                .map(Transaction::getAmountTry)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
     private BigDecimal calculateAverage(BigDecimal total, long months) {
         if (months <= 0) return BigDecimal.ZERO;
         return total.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP);
@@ -103,52 +100,41 @@ public class ReportService {
     }
 
 
-    private List<ReportSummaryResponse.MonthlySeriesItem> generateMonthlySeries(
-            List<Transaction> transactions, LocalDate startDate, LocalDate endDate) {
-
-        Map<YearMonth, List<Transaction>> groupedByMonth = transactions.stream()
-                .collect(Collectors.groupingBy(t -> YearMonth.from(t.getDate())));
-
-        List<ReportSummaryResponse.MonthlySeriesItem> series = new ArrayList<>();
+    private List<ReportSummaryResponse.MonthlySeriesItem> generateMonthlySeries(ReportAccumulator accumulator, LocalDate startDate) {
+        DateTimeFormatter labelFormat = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+        List<ReportSummaryResponse.MonthlySeriesItem> series = new ArrayList<>(accumulator.months());
         YearMonth currentMonth = YearMonth.from(startDate);
-        YearMonth endMonth = YearMonth.from(endDate);
-
-        while (!currentMonth.isAfter(endMonth)) {
-            List<Transaction> monthTrans = groupedByMonth.getOrDefault(currentMonth, Collections.emptyList());
 
-            BigDecimal mIncome = calculateTotalByType(monthTrans, TransactionType.INCOME);
-            BigDecimal mExpense = calculateTotalByType(monthTrans, TransactionType.EXPENSE);
+        for (int i = 0; i < accumulator.months(); i++, currentMonth = currentMonth.plusMonths(1)) {
+            BigDecimal mIncome = accumulator.monthTotal(i, TransactionType.INCOME);
+            BigDecimal mExpense = accumulator.monthTotal(i, TransactionType.EXPENSE);
 
             series.add(ReportSummaryResponse.MonthlySeriesItem.builder()
                     .month(currentMonth.toString())
-                    .label(currentMonth.format(DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH)))
+                    .label(currentMonth.format(labelFormat))
                     .incomeTry(mIncome)
                     .expenseTry(mExpense)
                     .netSavingsTry(mIncome.subtract(mExpense))
                     .build());
-
-            currentMonth = currentMonth.plusMonths(1);
         }
         return series;
     }
 
 
-    private List<ReportSummaryResponse.CategoryBreakdownItem> generateCategoryBreakdown(List<Transaction> transactions) {
-        Map<String, BigDecimal> categoryMap = transactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getLabel(),
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmountTry, BigDecimal::add)
-                ));
-
-        return categoryMap.entrySet().stream()
-                .map(entry -> ReportSummaryResponse.CategoryBreakdownItem.builder()
-                        .categoryId(formatCategoryId(entry.getKey()))
-                        .categoryLabel(entry.getKey())
-                        .totalTry(entry.getValue())
-                        .build())
-                .sorted((c1, c2) -> c2.getTotalTry().compareTo(c1.getTotalTry()))
-                .toList();
+    private List<ReportSummaryResponse.CategoryBreakdownItem> generateCategoryBreakdown(ReportAccumulator accumulator) {
+        List<ReportSummaryResponse.CategoryBreakdownItem> breakdown = new ArrayList<>();
+        for (Category category : Category.values()) {
+            BigDecimal total = accumulator.categoryTotal(TransactionType.EXPENSE, category);
+            if (total != null) {
+                breakdown.add(ReportSummaryResponse.CategoryBreakdownItem.builder()
+                        .categoryId(formatCategoryId(category.getLabel()))
+                        .categoryLabel(category.getLabel())
+                        .totalTry(total)
+                        .build());
+            }
+        }
+        breakdown.sort((c1, c2) -> c2.totalTry().compareTo(c1.totalTry()));
+        return breakdown;
     }
 
     private String formatCategoryId(String categoryName) {
@@ -0,0 +1,105 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.ExportFormat;
+import com.alpeerkaraca.fintrackserver.dto.TransactionDto;
+import com.alpeerkaraca.fintrackserver.dto.TransactionFilter;
+import com.alpeerkaraca.fintrackserver.model.InstallmentMeta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Writes a user's transactions as CSV or NDJSON while they are read from the database, flushing every
+ * {@value #FLUSH_EVERY_ROWS} rows so the client receives the export in chunks.
+ * <p>
+ * CSV titles that a spreadsheet would evaluate as a formula are prefixed with {@code '}; the CSV import strips it again.
+ * Titles that already start with {@code '} get the prefix too, so the import can strip it without guessing.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+    static final String CSV_HEADER = "id,date,title,amountTry,category,type,paymentMethod,isInstallment,"
+            + "installmentTotalTry,installmentMonths,installmentStartMonth";
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final char ESCAPE = '\'';
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
+
+    public void export(UUID userId, TransactionFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        int[] written = {0};
+        try {
+            transactionService.forEachFilteredTransaction(userId, filter, dto -> {
+                try {
+                    writer.write(format == ExportFormat.CSV ? toCsvLine(dto) : objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                    if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private String toCsvLine(TransactionDto dto) {
+        InstallmentMeta meta = dto.getInstallmentMeta();
+        return String.join(",",
+                csv(dto.getId()),
+                csv(dto.getDate()),
+                csv(escapeFormula(dto.getTitle())),
+                csv(dto.getAmountTry() == null ? null : dto.getAmountTry().toPlainString()),
+                csv(dto.getCategory() == null ? null : dto.getCategory().name()),
+                csv(dto.getType() == null ? null : dto.getType().toJson()),
+                csv(dto.getPaymentMethod() == null ? null : dto.getPaymentMethod().toJson()),
+                csv(dto.getIsInstallment()),
+                csv(meta == null || meta.getTotalTry() == null ? null : meta.getTotalTry().toPlainString()),
+                csv(meta == null ? null : meta.getMonths()),
+                csv(meta == null ? null : meta.getStartMonth()));
+    }
+
+    static String escapeFormula(String text) {
+        if (text == null || text.isEmpty() || !needsEscape(text.charAt(0))) {
+            return text;
+        }
+        return ESCAPE + text;
+    }
+
+    // Exact inverse of escapeFormula
+    static String unescapeFormula(String text) {
+        if (text == null || text.length() < 2 || text.charAt(0) != ESCAPE || !needsEscape(text.charAt(1))) {
+            return text;
+        }
+        return text.substring(1);
+    }
+
+    private static boolean needsEscape(char first) {
+        return first == ESCAPE || FORMULA_PREFIXES.indexOf(first) >= 0;
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
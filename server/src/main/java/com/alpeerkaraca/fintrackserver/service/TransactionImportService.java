@@ -0,0 +1,253 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.BulkImportResult;
+import com.alpeerkaraca.fintrackserver.dto.TransactionDto;
+import com.alpeerkaraca.fintrackserver.exception.BulkImportException;
+import com.alpeerkaraca.fintrackserver.exception.UserNotFoundException;
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.InstallmentMeta;
+import com.alpeerkaraca.fintrackserver.model.PaymentMethod;
+import com.alpeerkaraca.fintrackserver.model.Transaction;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+import com.alpeerkaraca.fintrackserver.model.UserProfile;
+import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
+import com.alpeerkaraca.fintrackserver.repository.UserProfileRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports many transactions in one database transaction, e.g. a bank statement.
+ * <p>
+ * Rows are validated while the upload is read and written in batches of {@value #BATCH_SIZE}, which Hibernate sends as
+ * JDBC batches ({@code hibernate.jdbc.batch_size}). The persistence context is cleared after each batch so memory use
+ * does not grow with the file. Rollups are updated once per bucket and batch and the user's caches are invalidated
+ * once per import. If any row is invalid, nothing is stored and up to {@value #MAX_REPORTED_ERRORS} errors are
+ * reported. Reading the upload can fail after batches were written, so the imports also roll back on
+ * {@link IOException}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionImportService {
+    static final int BATCH_SIZE = 100;
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final int PROGRESS_EVERY_ROWS = 1000;
+    private static final List<String> REQUIRED_CSV_COLUMNS =
+            List.of("date", "title", "amountTry", "category", "type", "paymentMethod");
+
+    private final TransactionRepository transactionRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final CacheService cacheService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Imports a JSON array of transactions in the format accepted by {@code POST /api/v1/transactions}.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public BulkImportResult importJson(UUID userId, InputStream in) throws IOException {
+        try (MappingIterator<TransactionDto> values = objectMapper.readerFor(TransactionDto.class).readValues(in)) {
+            return importRows(userId, () -> {
+                try {
+                    return values.hasNext() ? values.next() : null;
+                } catch (JacksonException e) {
+                    throw new IllegalStateException("malformed JSON: " + e.getOriginalMessage());
+                }
+            });
+        } catch (JacksonException e) {
+            throw new BulkImportException(List.of("malformed JSON: " + e.getOriginalMessage()));
+        }
+    }
+
+    /**
+     * Imports CSV with a header row. The columns are those written by the CSV export; {@code id} and unknown columns
+     * are ignored, and the installment columns are only read when {@code isInstallment} is true.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public BulkImportResult importCsv(UUID userId, InputStream in) throws IOException {
+        CsvReader csv = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new BulkImportException(List.of("CSV header is missing"));
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column.toLowerCase(Locale.ROOT)))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new BulkImportException(List.of("CSV header is missing columns: " + String.join(", ", missing)));
+        }
+
+        return importRows(userId, () -> {
+            List<String> fields = csv.next();
+            while (fields != null && fields.stream().allMatch(String::isBlank)) {
+                fields = csv.next();
+            }
+            return fields == null ? null : fromCsv(columns, fields);
+        });
+    }
+
+    private BulkImportResult importRows(UUID userId, RowReader rows) throws IOException {
+        if (!userProfileRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found with id: " + userId);
+        }
+        UserProfile userProfile = userProfileRepository.getReferenceById(userId);
+
+        List<String> errors = new ArrayList<>();
+        List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+        int imported = 0;
+        for (int row = 1; errors.size() < MAX_REPORTED_ERRORS; row++) {
+            TransactionDto dto;
+            try {
+                dto = rows.read();
+            } catch (IllegalArgumentException e) {
+                errors.add("row " + row + ": " + e.getMessage());
+                continue;
+            } catch (IllegalStateException e) {
+                errors.add("row " + row + ": " + e.getMessage());
+                break;
+            }
+            if (dto == null) {
+                break;
+            }
+
+            String violations = validate(dto);
+            if (violations != null) {
+                errors.add("row " + row + ": " + violations);
+                continue;
+            }
+            Transaction transaction;
+            try {
+                transaction = TransactionService.newTransaction(userProfile, dto);
+            } catch (DateTimeParseException e) {
+                errors.add("row " + row + ": date is not a valid date");
+                continue;
+            }
+            if (!errors.isEmpty()) {
+                continue;
+            }
+
+            batch.add(transaction);
+            if (batch.size() == BATCH_SIZE) {
+                imported += writeBatch(batch);
+                if (imported % PROGRESS_EVERY_ROWS == 0) {
+                    log.info("Imported {} transactions so far for user {}", imported, userId);
+                }
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            log.warn("Rejected transaction import for user {}: {}", userId, errors);
+            throw new BulkImportException(errors);
+        }
+        imported += writeBatch(batch);
+        if (imported > 0) {
+            cacheService.evictAllUserCaches(userId);
+        }
+        log.info("Imported {} transactions for user {}", imported, userId);
+        return new BulkImportResult(imported);
+    }
+
+    private int writeBatch(List<Transaction> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        transactionRepository.saveAll(batch);
+        monthlyRollupService.recordAll(batch);
+        transactionRepository.flush();
+        entityManager.clear();
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private String validate(TransactionDto dto) {
+        Set<ConstraintViolation<TransactionDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static TransactionDto fromCsv(Map<String, Integer> columns, List<String> fields) {
+        Function<String, String> value = column -> {
+            Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+            if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+                return null;
+            }
+            return fields.get(index).trim();
+        };
+
+        boolean installment = Boolean.parseBoolean(value.apply("isInstallment"));
+        InstallmentMeta installmentMeta = null;
+        if (installment) {
+            installmentMeta = new InstallmentMeta(
+                    parse("installmentTotalTry", value.apply("installmentTotalTry"), BigDecimal::new),
+                    parse("installmentMonths", value.apply("installmentMonths"), Integer::valueOf),
+                    value.apply("installmentStartMonth"),
+                    null);
+        }
+        return TransactionDto.builder()
+                .title(TransactionExportService.unescapeFormula(value.apply("title")))
+                .amountTry(parse("amountTry", value.apply("amountTry"), BigDecimal::new))
+                .date(value.apply("date"))
+                .category(parse("category", value.apply("category"), text -> Category.valueOf(text.toUpperCase(Locale.ROOT))))
+                .type(parse("type", value.apply("type"), TransactionType::from))
+                .paymentMethod(parse("paymentMethod", value.apply("paymentMethod"), PaymentMethod::from))
+                .isInstallment(installment)
+                .installmentMeta(installmentMeta)
+                .build();
+    }
+
+    // Blank values stay null and are reported by bean validation
+    private static <T> T parse(String column, String text, Function<String, T> parser) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return parser.apply(text);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(column + " has an invalid value: " + text);
+        }
+    }
+
+    /**
+     * Source of import rows.
+     */
+    @FunctionalInterface
+    private interface RowReader {
+        /**
+         * @return the next row, or null at the end of the input
+         * @throws IllegalArgumentException when the row cannot be read; reading continues with the next row
+         * @throws IllegalStateException    when the input is malformed and no further rows can be read
+         */
+        TransactionDto read() throws IOException;
+    }
+}
@@ -1,7 +1,10 @@
 package com.alpeerkaraca.fintrackserver.service;
 
+import com.alpeerkaraca.fintrackserver.dto.CursorSlice;
+import com.alpeerkaraca.fintrackserver.dto.TransactionCursor;
 import com.alpeerkaraca.fintrackserver.dto.TransactionDto;
 import com.alpeerkaraca.fintrackserver.dto.TransactionFilter;
+import com.alpeerkaraca.fintrackserver.dto.TransactionRow;
 import com.alpeerkaraca.fintrackserver.exception.UserNotFoundException;
 import com.alpeerkaraca.fintrackserver.model.Transaction;
 import com.alpeerkaraca.fintrackserver.model.UserProfile;
@@ -10,6 +13,7 @@ import com.alpeerkaraca.fintrackserver.repository.UserProfileRepository;
 import com.alpeerkaraca.fintrackserver.specifications.TransactionSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,61 +28,103 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionService {
+    private static final Sort LISTING_ORDER = Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.ASC, "id"));
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final TransactionRepository transactionRepository;
     private final UserProfileRepository userProfileRepository;
     private final CacheService cacheService;
+    private final MonthlyRollupService monthlyRollupService;
 
     public Page<Transaction> getTransactionsByUser(UUID userId, Pageable pageable) {
         return transactionRepository.findByUserProfileId(userId, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<TransactionDto> getFilteredTransactions(UUID userId, TransactionFilter filter, Pageable pageable, boolean orderedByDesc) {
         Specification<Transaction> spec = TransactionSpecifications.withFilter(userId, filter);
         Pageable effectivePageable = pageable;
-        if (orderedByDesc && pageable.getSort().isUnsorted()) {
+        // A title search without an explicit sort keeps the relevance order set by the specification
+        boolean searching = filter.getQ() != null && !filter.getQ().isBlank();
+        if (orderedByDesc && pageable.getSort().isUnsorted() && !searching) {
             effectivePageable = PageRequest.of(
                     pageable.getPageNumber(),
                     pageable.getPageSize(),
-                    Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.ASC, "id"))
+                    LISTING_ORDER
             );
         }
-        Page<Transaction> entities = transactionRepository.findAll(spec, effectivePageable);
+        Page<TransactionRow> rows = transactionRepository.findRows(spec, effectivePageable);
+
+        return rows.map(row -> applyFilter(row.toDto(), filter));
+    }
+
+    /**
+     * Keyset-paginated listing in {@code date DESC, id ASC} order. Each page seeks past the previous one's last row and
+     * reads one extra row to know whether more follow, so neither an offset nor a count query is needed.
+     *
+     * @param after cursor returned with the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<TransactionDto> scrollFilteredTransactions(UUID userId, TransactionFilter filter, String after, int size) {
+        int limit = Math.clamp(size, 1, MAX_SCROLL_SIZE);
+        TransactionCursor cursor = after == null || after.isBlank() ? null : TransactionCursor.decode(after);
+        Specification<Transaction> spec = TransactionSpecifications.withFilter(userId, filter)
+                .and(TransactionSpecifications.after(cursor));
+
+        List<TransactionRow> rows = transactionRepository.findRows(spec, LISTING_ORDER, Limit.of(limit + 1));
+        boolean hasNext = rows.size() > limit;
+        List<TransactionRow> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionRow last = page.getLast();
+            nextCursor = new TransactionCursor(last.date(), last.id()).encode();
+        }
 
-        return entities.map(entity -> applyFilter(entity, filter));
+        return new CursorSlice<>(page.stream().map(row -> applyFilter(row.toDto(), filter)).toList(), limit, hasNext, nextCursor);
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionDto> getFilteredTransactions(UUID userId, TransactionFilter filter) {
         Specification<Transaction> spec = TransactionSpecifications.withFilter(userId, filter);
-        List<Transaction> entities = transactionRepository.findAll(spec);
+        List<TransactionRow> rows = transactionRepository.findRows(spec, Sort.unsorted(), Limit.unlimited());
 
-        return entities.stream()
-                .map(entity -> applyFilter(entity, filter))
+        return rows.stream()
+                .map(row -> applyFilter(row.toDto(), filter))
                 .toList();
     }
 
-    private TransactionDto applyFilter(Transaction entity, TransactionFilter filter) {
-        TransactionDto dto = convertToDto(entity);
-
-        if (Boolean.TRUE.equals(entity.getIsInstallment()) && entity.getInstallmentMeta() != null) {
-            YearMonth start = YearMonth.parse(entity.getInstallmentMeta().getStartMonth());
-            YearMonth end = start.plusMonths(entity.getInstallmentMeta().getMonths() - 1L);
+    /**
+     * Passes every transaction matching the filter, in listing order, to {@code action} while the rows are still being
+     * read, so memory use does not grow with the size of the history.
+     */
+    @Transactional(readOnly = true)
+    public void forEachFilteredTransaction(UUID userId, TransactionFilter filter, Consumer<TransactionDto> action) {
+        Specification<Transaction> spec = TransactionSpecifications.withFilter(userId, filter);
+        try (Stream<TransactionRow> rows = transactionRepository.streamRows(spec, LISTING_ORDER)) {
+            rows.forEach(row -> action.accept(applyFilter(row.toDto(), filter)));
+        }
+    }
 
+    private TransactionDto applyFilter(TransactionDto dto, TransactionFilter filter) {
+        if (Boolean.TRUE.equals(dto.getIsInstallment()) && dto.getInstallmentMeta() != null) {
             if (filter.getMonth() != null && filter.getYear() != null) {
-                YearMonth target = YearMonth.of(filter.getYear(), filter.getMonth());
+                String target = YearMonth.of(filter.getYear(), filter.getMonth()).toString();
 
-                if (target.isBefore(start) || target.isAfter(end)) {
+                if (!dto.getInstallmentMeta().isActiveIn(target)) {
                     dto.setAmountTry(BigDecimal.ZERO);
                     return dto;
                 }
             }
 
-            BigDecimal monthlyAmount = entity.getInstallmentMeta().getTotalTry()
-                    .divide(BigDecimal.valueOf(entity.getInstallmentMeta().getMonths()), 2, RoundingMode.HALF_UP);
+            BigDecimal monthlyAmount = dto.getInstallmentMeta().getTotalTry()
+                    .divide(BigDecimal.valueOf(dto.getInstallmentMeta().getMonths()), 2, RoundingMode.HALF_UP);
 
             if (filter.isExpanded()) {
                 dto.setAmountTry(monthlyAmount);
@@ -104,23 +150,11 @@ public class TransactionService {
     @Transactional
     public TransactionDto createTransaction(UUID userId, TransactionDto dto) {
         try {
-            BigDecimal monthlyAmount = Boolean.TRUE.equals(dto.getIsInstallment()) ?
-                    dto.getInstallmentMeta().getTotalTry()
-                            .divide(BigDecimal.valueOf(dto.getInstallmentMeta().getMonths()), 2, RoundingMode.HALF_UP)
-                    : dto.getAmountTry();
             UserProfile userProfile = userProfileRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-            Transaction transaction = Transaction.builder()
-                    .userProfile(userProfile)
-                    .title(dto.getTitle())
-                    .amountTry(monthlyAmount)
-                    .date(LocalDate.parse(dto.getDate()))
-                    .category(dto.getCategory())
-                    .isInstallment(dto.getIsInstallment())
-                    .installmentMeta(Boolean.TRUE.equals(dto.getIsInstallment()) ? dto.getInstallmentMeta() : null)
-                    .paymentMethod(dto.getPaymentMethod())
-                    .transactionType(dto.getType()).build();
+            Transaction transaction = newTransaction(userProfile, dto);
 
             Transaction savedTransaction = transactionRepository.save(transaction);
+            monthlyRollupService.record(savedTransaction);
             cacheService.evictAllUserCaches(userId);
             return convertToDto(savedTransaction);
         } catch (Exception e) {
@@ -129,4 +163,24 @@ public class TransactionService {
         }
 
     }
+
+    /**
+     * Builds the entity for a new transaction; an installment purchase is stored with its monthly payment as amount.
+     */
+    static Transaction newTransaction(UserProfile userProfile, TransactionDto dto) {
+        BigDecimal monthlyAmount = Boolean.TRUE.equals(dto.getIsInstallment()) ?
+                dto.getInstallmentMeta().getTotalTry()
+                        .divide(BigDecimal.valueOf(dto.getInstallmentMeta().getMonths()), 2, RoundingMode.HALF_UP)
+                : dto.getAmountTry();
+        return Transaction.builder()
+                .userProfile(userProfile)
+                .title(dto.getTitle())
+                .amountTry(monthlyAmount)
+                .date(LocalDate.parse(dto.getDate()))
+                .category(dto.getCategory())
+                .isInstallment(dto.getIsInstallment())
+                .installmentMeta(Boolean.TRUE.equals(dto.getIsInstallment()) ? dto.getInstallmentMeta() : null)
+                .paymentMethod(dto.getPaymentMethod())
+                .transactionType(dto.getType()).build();
+    }
 }
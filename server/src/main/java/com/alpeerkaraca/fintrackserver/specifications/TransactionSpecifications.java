@@ -1,7 +1,9 @@
 package com.alpeerkaraca.fintrackserver.specifications;
 
+import com.alpeerkaraca.fintrackserver.dto.TransactionCursor;
 import com.alpeerkaraca.fintrackserver.dto.TransactionFilter;
 import com.alpeerkaraca.fintrackserver.model.Transaction;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -10,6 +12,7 @@ import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 public class TransactionSpecifications {
@@ -20,10 +23,12 @@ public class TransactionSpecifications {
      * Supported filter options:
      *  - type: when {@code filter.getType()} is not null, matches {@code transactionType}.
      *  - category: when provided (non-blank), matches {@code category} case-insensitively.
+     *  - q: when provided (non-blank), matches titles containing the term or a word similar to it (see
+     *    {@link #matchingTitle}).
      *  - month & year: when both {@code filter.getMonth()} and {@code filter.getYear()} are provided,
      *    non-installment transactions with matching YEAR/MONTH are included.
-     *  - expanded: if {@code filter.isExpanded()} is true, installment transactions whose
-     *    {@code installmentMeta.startMonth} is less than or equal to the target month (formatted
+     *  - expanded: if {@code filter.isExpanded()} is true, installment transactions that are active in the
+     *    target month ({@code installmentMeta.startMonth <= target <= installmentMeta.endMonth}, formatted
      *    as "YYYY-MM") are also included.
      *
      * Notes:
@@ -48,6 +53,10 @@ public class TransactionSpecifications {
                 predicates.add(cb.equal(cb.lower(root.get("category")), filter.getCategory().toLowerCase()));
             }
 
+            if (filter.getQ() != null && !filter.getQ().isBlank()) {
+                predicates.add(matchingTitle(filter.getQ()).toPredicate(root, query, cb));
+            }
+
             if (filter.getMonth() != null && filter.getYear() != null) {
                 LocalDate targetStart = LocalDate.of(filter.getYear(), filter.getMonth(), 1);
                 LocalDate targetEnd = targetStart.withDayOfMonth(targetStart.lengthOfMonth());
@@ -62,7 +71,8 @@ public class TransactionSpecifications {
 
                     Predicate installmentActive = cb.and(
                             cb.isTrue(root.get("isInstallment")),
-                            cb.lessThanOrEqualTo(root.get("installmentMeta").get("startMonth"), targetMonthStr)
+                            cb.lessThanOrEqualTo(root.get("installmentMeta").get("startMonth"), targetMonthStr),
+                            cb.greaterThanOrEqualTo(root.get("installmentMeta").get("endMonth"), targetMonthStr)
                     );
 
                     predicates.add(cb.or(normalTransactions, installmentActive));
@@ -74,4 +84,52 @@ public class TransactionSpecifications {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Matches titles that contain {@code term} or have a word similar to it, ignoring case. A select query is also
+     * ordered by relevance, then {@code date DESC, id ASC} so pages are stable; an explicit sort given to the
+     * repository replaces this order.
+     */
+    public static Specification<Transaction> matchingTitle(String term) {
+        return (root, query, cb) -> {
+            String normalized = term.trim().toLowerCase(Locale.ROOT);
+            Expression<String> title = cb.lower(root.get("title"));
+            Expression<String> searched = cb.literal(normalized);
+
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                query.orderBy(
+                        cb.desc(cb.function("title_similarity", Double.class, title, searched)),
+                        cb.desc(root.get("date")),
+                        cb.asc(root.get("id")));
+            }
+            return cb.or(
+                    cb.like(title, "%" + escapeLike(normalized) + "%", '\\'),
+                    cb.isTrue(cb.function("title_fuzzy_match", Boolean.class, title, searched)));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Matches the transactions that come after {@code cursor} in the {@code date DESC, id ASC} listing order, so a page
+     * is read by seeking the {@code (user_profile_id, date)} index instead of skipping an offset.
+     *
+     * @param cursor position of the last transaction already returned, or null for the first page
+     */
+    public static Specification<Transaction> after(TransactionCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            return cb.or(
+                    cb.lessThan(root.get("date"), cursor.date()),
+                    cb.and(
+                            cb.equal(root.get("date"), cursor.date()),
+                            cb.greaterThan(root.<UUID>get("id"), cursor.id())
+                    )
+            );
+        };
+    }
+}
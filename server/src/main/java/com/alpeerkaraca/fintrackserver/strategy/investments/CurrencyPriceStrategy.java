@@ -18,6 +18,11 @@ public class CurrencyPriceStrategy implements PriceStrategy {
         return marketDataService.getUsdToTryInfo();
     }
 
+    @Override
+    public InvestmentExternalDto cachedInfo(String symbol, StockMarket market) {
+        return marketDataService.cachedUsdToTryInfo();
+    }
+
     @Override
     public boolean supports(AssetType type) {
         return type == AssetType.CURRENCY;
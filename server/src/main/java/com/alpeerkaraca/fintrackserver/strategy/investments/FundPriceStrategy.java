@@ -6,12 +6,21 @@ import com.alpeerkaraca.fintrackserver.model.InvestmentAsset;
 import com.alpeerkaraca.fintrackserver.model.StockMarket;
 import com.alpeerkaraca.fintrackserver.service.MarketDataService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class FundPriceStrategy implements PriceStrategy{
     private final MarketDataService marketDataService;
+    private final ExecutorService virtualThreadExecutor;
 
     @Override
     public InvestmentExternalDto fetchInfo(String symbol, StockMarket market) {
@@ -22,6 +31,44 @@ public class FundPriceStrategy implements PriceStrategy{
         return marketDataService.getFundInfo(symbol);
     }
 
+    @Override
+    public Map<String, InvestmentExternalDto> fetchInfos(Collection<String> symbols, StockMarket market) {
+        if (market == StockMarket.NASDAQ || market == StockMarket.NYSE) {
+            Map<String, InvestmentExternalDto> quotes = marketDataService.getStockInfos(symbols);
+            Map<String, InvestmentExternalDto> infos = new HashMap<>();
+            symbols.forEach(symbol -> {
+                InvestmentExternalDto info = quotes.get(symbol.toUpperCase());
+                if (info != null) {
+                    infos.put(symbol, info);
+                }
+            });
+            return infos;
+        }
+
+        // fundfy has no batch endpoint, so each fund code is requested on its own virtual thread
+        Map<String, CompletableFuture<InvestmentExternalDto>> pending = new HashMap<>();
+        symbols.forEach(symbol -> pending.put(symbol,
+                CompletableFuture.supplyAsync(() -> marketDataService.getFundInfo(symbol), virtualThreadExecutor)));
+
+        Map<String, InvestmentExternalDto> infos = new HashMap<>();
+        pending.forEach((symbol, future) -> {
+            try {
+                infos.put(symbol, future.join());
+            } catch (Exception e) {
+                log.warn("Failed to fetch fund price for {}: {}", symbol, e.getMessage());
+            }
+        });
+        return infos;
+    }
+
+    @Override
+    public InvestmentExternalDto cachedInfo(String symbol, StockMarket market) {
+        if (market == StockMarket.NASDAQ || market == StockMarket.NYSE) {
+            return marketDataService.cachedStockInfo(symbol);
+        }
+        return marketDataService.cachedFundInfo(symbol);
+    }
+
     @Override
     public boolean supports(AssetType type) {
         return type == AssetType.FUND;
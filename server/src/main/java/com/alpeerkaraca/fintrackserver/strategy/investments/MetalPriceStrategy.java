@@ -20,6 +20,11 @@ public class MetalPriceStrategy implements PriceStrategy{
         return marketDataService.getMetalInfo(symbol);
     }
 
+    @Override
+    public InvestmentExternalDto cachedInfo(String symbol, StockMarket market) {
+        return marketDataService.cachedMetalInfo(symbol);
+    }
+
     @Override
     public boolean supports(AssetType type) {
         return type == AssetType.GOLD_SILVER;
@@ -6,8 +6,50 @@ import com.alpeerkaraca.fintrackserver.model.InvestmentAsset;
 import com.alpeerkaraca.fintrackserver.model.StockMarket;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 public interface PriceStrategy {
     InvestmentExternalDto fetchInfo(String symbol, StockMarket market);
     boolean supports(AssetType type);
+
+    /**
+     * Prices several symbols of the same market at once. Symbols that could not be priced are left out of the
+     * result, which is keyed by the symbols as given.
+     */
+    default Map<String, InvestmentExternalDto> fetchInfos(Collection<String> symbols, StockMarket market) {
+        Map<String, InvestmentExternalDto> infos = new HashMap<>();
+        for (String symbol : symbols) {
+            try {
+                infos.put(symbol, fetchInfo(symbol, market));
+            } catch (RuntimeException e) {
+                // Missing entries are reported by the caller
+            }
+        }
+        return infos;
+    }
+
+    /**
+     * Looks the price up in the market data caches only, without calling the upstream.
+     *
+     * @return the cached price, or null when it is not cached or the strategy cannot tell
+     */
+    default InvestmentExternalDto cachedInfo(String symbol, StockMarket market) {
+        return null;
+    }
+
+    /**
+     * Cache-only counterpart of {@link #fetchInfos}: symbols that are not cached are left out of the result.
+     */
+    default Map<String, InvestmentExternalDto> cachedInfos(Collection<String> symbols, StockMarket market) {
+        Map<String, InvestmentExternalDto> infos = new HashMap<>();
+        for (String symbol : symbols) {
+            InvestmentExternalDto info = cachedInfo(symbol, market);
+            if (info != null) {
+                infos.put(symbol, info);
+            }
+        }
+        return infos;
+    }
 }
@@ -7,6 +7,10 @@ import com.alpeerkaraca.fintrackserver.service.MarketDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 @Component
 @RequiredArgsConstructor
 public class StockPriceStrategy implements PriceStrategy {
@@ -14,14 +18,40 @@ public class StockPriceStrategy implements PriceStrategy {
 
     @Override
     public InvestmentExternalDto fetchInfo(String symbol, StockMarket market) {
-        if (market == StockMarket.BIST && !symbol.endsWith(".IS")) {
-            symbol = symbol + ".IS";
-        }
-        return marketDataService.getStockInfo(symbol);
+        return marketDataService.getStockInfo(toYahooSymbol(symbol, market));
+    }
+
+    @Override
+    public Map<String, InvestmentExternalDto> fetchInfos(Collection<String> symbols, StockMarket market) {
+        Map<String, String> yahooSymbols = new HashMap<>();
+        symbols.forEach(symbol -> yahooSymbols.put(symbol, toYahooSymbol(symbol, market)));
+
+        Map<String, InvestmentExternalDto> quotes = marketDataService.getStockInfos(yahooSymbols.values());
+
+        Map<String, InvestmentExternalDto> infos = new HashMap<>();
+        yahooSymbols.forEach((symbol, yahooSymbol) -> {
+            InvestmentExternalDto info = quotes.get(yahooSymbol.toUpperCase());
+            if (info != null) {
+                infos.put(symbol, info);
+            }
+        });
+        return infos;
+    }
+
+    @Override
+    public InvestmentExternalDto cachedInfo(String symbol, StockMarket market) {
+        return marketDataService.cachedStockInfo(toYahooSymbol(symbol, market));
     }
 
     @Override
     public boolean supports(AssetType type) {
         return type == AssetType.STOCK;
     }
+
+    public static String toYahooSymbol(String symbol, StockMarket market) {
+        if (market == StockMarket.BIST && !symbol.endsWith(".IS")) {
+            return symbol + ".IS";
+        }
+        return symbol;
+    }
 }
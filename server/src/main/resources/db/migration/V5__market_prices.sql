@@ -0,0 +1,17 @@
+-- Flyway migration V5: last-known-good market prices
+-- One row per priced instrument; overwritten whenever a newer upstream price is seen.
+
+create table if not exists market_prices
+(
+    id           uuid                        not null
+        primary key,
+    asset_type   varchar(255)                not null,
+    symbol       varchar(255)                not null,
+    stock_market varchar(50)                 not null,
+    name         varchar(255),
+    price        numeric(19, 6)              not null,
+    fetched_at   timestamp(6) with time zone not null,
+
+    constraint uq_market_price_instrument
+        unique (asset_type, stock_market, symbol)
+);
@@ -0,0 +1,39 @@
+-- Flyway migration V6: per-month transaction rollups
+-- One row per user, month, type, category and payment method, maintained in the same transaction as every
+-- transaction write so monthly totals are read from a handful of rows instead of the transactions table.
+
+create table if not exists monthly_rollups
+(
+    id                uuid           not null
+        primary key,
+    user_profile_id   uuid           not null
+        references user_profiles (id),
+    year_month        varchar(7)     not null,
+    transaction_type  varchar(255)   not null,
+    category          varchar(255)   not null,
+    payment_method    varchar(255),
+    total_try         numeric(19, 2) not null,
+    transaction_count bigint         not null,
+
+    constraint uq_monthly_rollup_bucket
+        unique nulls not distinct (user_profile_id, year_month, transaction_type, category, payment_method)
+);
+
+-- Query patterns: one user, one month or a range of months
+create index if not exists idx_monthly_rollup_user_month
+    on monthly_rollups (user_profile_id, year_month, transaction_type)
+    include (total_try, transaction_count);
+
+-- Backfill from the existing transactions
+insert into monthly_rollups (id, user_profile_id, year_month, transaction_type, category, payment_method,
+                             total_try, transaction_count)
+select gen_random_uuid(),
+       user_profile_id,
+       to_char(date, 'YYYY-MM'),
+       transaction_type,
+       category,
+       payment_method,
+       sum(amount_try),
+       count(*)
+from transactions
+group by user_profile_id, to_char(date, 'YYYY-MM'), transaction_type, category, payment_method;
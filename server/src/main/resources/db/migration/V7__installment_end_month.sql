@@ -0,0 +1,15 @@
+-- Flyway migration V7: typed installment window
+-- Stores the last payment month next to start_month so "installments active in month X" is an index range
+-- query instead of parsing start_month for every card expense a user has ever made.
+
+alter table transactions
+    add column if not exists end_month varchar(255);
+
+update transactions
+set end_month = to_char(to_date(start_month, 'YYYY-MM') + (months - 1) * interval '1 month', 'YYYY-MM')
+where is_installment = true
+  and start_month is not null
+  and months is not null;
+
+create index if not exists idx_tx_user_installment_months
+    on transactions (user_profile_id, is_installment, start_month, end_month);
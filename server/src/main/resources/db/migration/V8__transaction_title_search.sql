@@ -0,0 +1,9 @@
+-- Flyway migration V8: title search
+-- Trigram index on the lower-cased title so the "q" filter (substring LIKE and pg_trgm word similarity) is an index
+-- scan instead of reading every transaction of the user. pg_trgm is a trusted extension, so the database owner can
+-- install it.
+
+create extension if not exists pg_trgm;
+
+create index if not exists idx_tx_title_trgm
+    on transactions using gin (lower(title) gin_trgm_ops);
@@ -0,0 +1,78 @@
+package com.alpeerkaraca.fintrackserver.config;
+
+import com.alpeerkaraca.fintrackserver.dto.BudgetCategoryResponse;
+import com.alpeerkaraca.fintrackserver.dto.BudgetSummaryDto;
+import com.alpeerkaraca.fintrackserver.dto.DashboardOverviewCore;
+import com.alpeerkaraca.fintrackserver.dto.ForecastResponse;
+import com.alpeerkaraca.fintrackserver.dto.InvestmentAssetDto;
+import com.alpeerkaraca.fintrackserver.dto.frontend.ReportSummaryResponse;
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.Category;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheConfigTest {
+
+    private final GenericJacksonJsonRedisSerializer serializer = CacheConfig.cacheValueSerializer();
+
+    @Test
+    void shouldRoundTripDashboardOverviewCoreAsImmutableValue() {
+        List<String> unavailableSections = new ArrayList<>();
+        DashboardOverviewCore core = DashboardOverviewCore.builder()
+                .summary(new BudgetSummaryDto(new BigDecimal("100.00"), new BigDecimal("40.00"), new BigDecimal("60.00"),
+                        new BigDecimal("5000.00"), new BigDecimal("33.50")))
+                .forecast(List.of(new ForecastResponse("2025-03", "MAR", new BigDecimal("60.00"))))
+                .categoryWatchlist(List.of(new BudgetCategoryResponse(Category.FOOD, new BigDecimal("50.00"),
+                        new BigDecimal("40.00"), "warning")))
+                .investments(List.of(InvestmentAssetDto.builder()
+                        .symbol("AAPL")
+                        .assetType(AssetType.STOCK)
+                        .currentPriceTry(new BigDecimal("7000.00"))
+                        .priceAsOf(Instant.parse("2025-03-05T10:00:00Z"))
+                        .build()))
+                .currentUsdTryRate(new BigDecimal("33.50"))
+                .unavailableSections(unavailableSections)
+                .build();
+        unavailableSections.add("changed by the builder's caller");
+
+        Object restored = serializer.deserialize(serializer.serialize(core));
+
+        assertThat(restored).isEqualTo(core);
+        assertThat(core.unavailableSections()).isEmpty();
+        assertThatThrownBy(() -> ((DashboardOverviewCore) restored).investments().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shouldRoundTripReportSummaryAsImmutableValue() {
+        ReportSummaryResponse.CategoryBreakdownItem food = new ReportSummaryResponse.CategoryBreakdownItem(
+                "food", "Food", new BigDecimal("40.00"));
+        ReportSummaryResponse summary = ReportSummaryResponse.builder()
+                .currency("TRY")
+                .range(new ReportSummaryResponse.DateRange("2025-01-01", "2025-03-31"))
+                .totals(new ReportSummaryResponse.ReportTotals(new BigDecimal("100.00"), new BigDecimal("40.00"),
+                        new BigDecimal("60.00"), 60.0))
+                .monthlySeries(new ArrayList<>(List.of(new ReportSummaryResponse.MonthlySeriesItem(
+                        "2025-01", "Jan 2025", new BigDecimal("100.00"), new BigDecimal("40.00"), new BigDecimal("60.00")))))
+                .categoryBreakdown(List.of(food))
+                .topCategory(food)
+                .metadata(new ReportSummaryResponse.ReportMetadata(LocalDateTime.of(2025, 4, 1, 9, 0),
+                        new ReportSummaryResponse.ReportMetadata.DataPoints(12, 3, 1)))
+                .build();
+
+        Object restored = serializer.deserialize(serializer.serialize(summary));
+
+        assertThat(restored).isEqualTo(summary);
+        assertThatThrownBy(() -> summary.monthlySeries().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.alpeerkaraca.fintrackserver.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryCountFilter filter = new QueryCountFilter(meterRegistry, 25);
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/v1/budgets/summary");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldRecordStatementsPerRoute() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ((HttpServletRequest) req).setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/budgets/summary");
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+            inspector.inspect("select 3");
+        });
+
+        DistributionSummary queries = meterRegistry.get("fintrack.http.server.queries")
+                .tags("method", "GET", "uri", "/api/v1/budgets/summary")
+                .summary();
+        assertThat(queries.count()).isEqualTo(1);
+        assertThat(queries.totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldTagUnmatchedRequestsAsUnknown() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> inspector.inspect("select 1"));
+
+        assertThat(meterRegistry.get("fintrack.http.server.queries").tags("uri", "UNKNOWN").summary().totalAmount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountInnermostThreadScope() {
+        try (QueryCount outer = QueryCount.start()) {
+            inspector.inspect("select 1");
+            try (QueryCount inner = QueryCount.start()) {
+                inspector.inspect("select 2");
+                inspector.inspect("select 3");
+                assertThat(inner.get()).isEqualTo(2);
+            }
+            inspector.inspect("select 4");
+            assertThat(outer.get()).isEqualTo(2);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.alpeerkaraca.fintrackserver.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    @Mock
+    private TwoTierCacheManager cacheManager;
+
+    private ConcurrentMapCache redisCache;
+    private TwoTierCache cache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        redisCache = new ConcurrentMapCache("stockPrices", false);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoTierCache(redisCache, Caffeine.newBuilder().build(), cacheManager, meterRegistry);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMissesIntoOneLoad() throws Exception {
+        when(cacheManager.tryAcquireLoadLease("stockPrices::AAPL")).thenReturn(true);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            release.await(2, TimeUnit.SECONDS);
+            return "price";
+        };
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> cache.get("AAPL", loader)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(2, TimeUnit.SECONDS)).isEqualTo("price");
+            }
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(redisCache.get("AAPL", String.class)).isEqualTo("price");
+        verify(cacheManager).releaseLoadLease("stockPrices::AAPL");
+    }
+
+    @Test
+    void shouldWaitForValueLoadedByLeaseHolder() {
+        when(cacheManager.tryAcquireLoadLease("stockPrices::AAPL")).thenReturn(false);
+        when(cacheManager.getLoadLeaseTtl()).thenReturn(Duration.ofSeconds(2));
+        lenient().when(cacheManager.isLoadLeaseHeld("stockPrices::AAPL")).thenReturn(true);
+        CompletableFuture.runAsync(() -> redisCache.put("AAPL", "remote"),
+                CompletableFuture.delayedExecutor(150, TimeUnit.MILLISECONDS));
+
+        String value = cache.get("AAPL", () -> {
+            throw new IllegalStateException("should not load");
+        });
+
+        assertThat(value).isEqualTo("remote");
+        verify(cacheManager, never()).releaseLoadLease(anyString());
+    }
+
+    @Test
+    void shouldLoadLocallyWhenLeaseHolderGivesUp() {
+        when(cacheManager.tryAcquireLoadLease("stockPrices::AAPL")).thenReturn(false);
+        when(cacheManager.getLoadLeaseTtl()).thenReturn(Duration.ofSeconds(2));
+        when(cacheManager.isLoadLeaseHeld("stockPrices::AAPL")).thenReturn(false);
+
+        String value = cache.get("AAPL", () -> "local");
+
+        assertThat(value).isEqualTo("local");
+        assertThat(redisCache.get("AAPL", String.class)).isEqualTo("local");
+    }
+
+    @Test
+    void shouldCountLookupsPerTier() {
+        when(cacheManager.tryAcquireLoadLease("stockPrices::AAPL")).thenReturn(true);
+        redisCache.put("MSFT", "remote");
+
+        cache.get("AAPL", () -> "loaded");
+        cache.get("AAPL", () -> "loaded");
+        cache.get("MSFT");
+
+        assertThat(count("local", "hit")).isEqualTo(1);
+        assertThat(count("local", "miss")).isEqualTo(2);
+        assertThat(count("redis", "hit")).isEqualTo(1);
+        assertThat(count("redis", "miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("fintrack.cache.loads").tags("cache", "stockPrices", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWrapLoaderFailureAndCacheNothing() {
+        when(cacheManager.tryAcquireLoadLease(anyString())).thenReturn(true);
+
+        assertThatThrownBy(() -> cache.get("AAPL", () -> {
+            throw new IllegalStateException("upstream down");
+        }))
+                .isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasRootCauseMessage("upstream down");
+        assertThat(redisCache.get("AAPL")).isNull();
+    }
+
+    @Test
+    void shouldServeLocalHitsWithoutCopying() {
+        when(cacheManager.tryAcquireLoadLease("stockPrices::watchlist")).thenReturn(true);
+        List<String> loaded = List.of("AAPL");
+
+        cache.get("watchlist", () -> loaded);
+
+        assertThat(cache.get("watchlist", List::<String>of)).isSameAs(loaded);
+        assertThat(cache.get("watchlist", List.class)).isSameAs(loaded);
+        assertThat(count("local", "hit")).isEqualTo(2);
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("fintrack.cache.gets")
+                .tags("cache", "stockPrices", "tier", tier, "result", result).counter().count();
+    }
+}
@@ -5,6 +5,7 @@ import com.alpeerkaraca.fintrackserver.dto.LoginRequest;
 import com.alpeerkaraca.fintrackserver.dto.TokenPair;
 import com.alpeerkaraca.fintrackserver.security.AuthCookies;
 import com.alpeerkaraca.fintrackserver.security.JwtService;
+import com.alpeerkaraca.fintrackserver.security.VerifiedTokenCache;
 import com.alpeerkaraca.fintrackserver.service.AuthService;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +46,9 @@ class AuthControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
     private AuthResult testAuthResult;
     private TokenPair testTokenPair;
 
@@ -1,11 +1,15 @@
 package com.alpeerkaraca.fintrackserver.repository;
 
+import com.alpeerkaraca.fintrackserver.config.QueryCount;
+import com.alpeerkaraca.fintrackserver.model.BudgetCategory;
 import com.alpeerkaraca.fintrackserver.model.BudgetMonth;
+import com.alpeerkaraca.fintrackserver.model.Category;
 import com.alpeerkaraca.fintrackserver.model.UserProfile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -23,6 +27,9 @@ class BudgetMonthRepositoryTest {
     @Autowired
     private UserProfileRepository userProfileRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private BudgetMonth testBudgetMonth;
     private UserProfile testUserProfile;
     
@@ -70,6 +77,31 @@ class BudgetMonthRepositoryTest {
         assertThat(found.get().getYear()).isEqualTo(2024);
     }
 
+    @Test
+    void shouldLoadCategoriesWithOneQueryPerMonth() {
+        for (Category category : new Category[]{Category.FOOD, Category.TRANSPORT}) {
+            testBudgetMonth.getCategories().add(BudgetCategory.builder()
+                    .budgetMonth(testBudgetMonth)
+                    .userProfile(testUserProfile)
+                    .category(category)
+                    .limitTry(BigDecimal.valueOf(2000))
+                    .spentTry(BigDecimal.valueOf(500))
+                    .build());
+        }
+        budgetMonthRepository.save(testBudgetMonth);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (QueryCount queries = QueryCount.start()) {
+            BudgetMonth found = budgetMonthRepository
+                    .findByUserProfileIdAndMonthAndYear(testUserProfile.getId(), 1, 2024).orElseThrow();
+            assertThat(queries.get()).isEqualTo(1);
+
+            assertThat(found.getCategories()).hasSize(2);
+            assertThat(queries.get()).isEqualTo(2);
+        }
+    }
+
     @Test
     void shouldReturnEmptyWhenBudgetMonthNotFound() {
         Optional<BudgetMonth> found = budgetMonthRepository.findById(UUID.randomUUID());
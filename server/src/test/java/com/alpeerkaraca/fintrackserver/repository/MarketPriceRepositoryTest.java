@@ -0,0 +1,49 @@
+package com.alpeerkaraca.fintrackserver.repository;
+
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.MarketPrice;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class MarketPriceRepositoryTest {
+
+    @Autowired
+    private MarketPriceRepository marketPriceRepository;
+
+    @Test
+    void shouldFindPricesForOneMarket() {
+        marketPriceRepository.saveAll(List.of(
+                price(AssetType.STOCK, StockMarket.NASDAQ, "AAPL"),
+                price(AssetType.STOCK, StockMarket.NASDAQ, "MSFT"),
+                price(AssetType.STOCK, StockMarket.BIST, "AAPL"),
+                price(AssetType.FUND, StockMarket.NASDAQ, "QQQ")));
+
+        List<MarketPrice> found = marketPriceRepository.findByAssetTypeAndStockMarketAndSymbolIn(
+                AssetType.STOCK, StockMarket.NASDAQ, List.of("AAPL", "QQQ"));
+
+        assertThat(found).extracting(MarketPrice::getSymbol).containsExactly("AAPL");
+        assertThat(found.get(0).getStockMarket()).isEqualTo(StockMarket.NASDAQ);
+    }
+
+    private MarketPrice price(AssetType type, StockMarket market, String symbol) {
+        return MarketPrice.builder()
+                .assetType(type)
+                .stockMarket(market)
+                .symbol(symbol)
+                .name(symbol)
+                .price(BigDecimal.TEN)
+                .fetchedAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.alpeerkaraca.fintrackserver.repository;
+
+import com.alpeerkaraca.fintrackserver.dto.MonthlyTypeTotal;
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.MonthlyRollup;
+import com.alpeerkaraca.fintrackserver.model.PaymentMethod;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class MonthlyRollupRepositoryTest {
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void shouldSumMonthAcrossPaymentMethodsAndReadRanges() {
+        monthlyRollupRepository.saveAll(List.of(
+                rollup("2025-01", PaymentMethod.CASH, "20.00"),
+                rollup("2025-02", PaymentMethod.CARD, "100.00"),
+                rollup("2025-02", PaymentMethod.CASH, "15.50"),
+                rollup("2025-04", PaymentMethod.CARD, "70.00")));
+
+        assertThat(monthlyRollupRepository.sumByUserIdAndMonthAndType(userId, "2025-02", TransactionType.EXPENSE))
+                .hasValueSatisfying(sum -> assertThat(sum).isEqualByComparingTo("115.50"));
+        assertThat(monthlyRollupRepository.sumByUserIdAndMonthAndType(userId, "2025-02", TransactionType.INCOME))
+                .isEmpty();
+        assertThat(monthlyRollupRepository.findByUserProfileIdAndYearMonthBetween(userId, "2025-02", "2025-03"))
+                .extracting(MonthlyRollup::getYearMonth)
+                .containsOnly("2025-02")
+                .hasSize(2);
+    }
+
+    @Test
+    void shouldSumRangeGroupedByMonthAndType() {
+        MonthlyRollup salary = rollup("2025-02", null, "5000.00");
+        salary.setTransactionType(TransactionType.INCOME);
+        salary.setCategory(Category.SALARY);
+        monthlyRollupRepository.saveAll(List.of(
+                rollup("2025-01", PaymentMethod.CASH, "20.00"),
+                rollup("2025-02", PaymentMethod.CARD, "100.00"),
+                rollup("2025-02", PaymentMethod.CASH, "15.50"),
+                salary,
+                rollup("2025-04", PaymentMethod.CARD, "70.00")));
+
+        List<MonthlyTypeTotal> totals = monthlyRollupRepository.sumByUserIdAndMonthBetweenGroupByType(userId, "2025-02", "2025-03");
+
+        assertThat(totals).hasSize(2);
+        assertThat(totals).filteredOn(t -> t.transactionType() == TransactionType.EXPENSE)
+                .singleElement()
+                .satisfies(t -> {
+                    assertThat(t.yearMonth()).isEqualTo("2025-02");
+                    assertThat(t.totalTry()).isEqualByComparingTo("115.50");
+                });
+        assertThat(totals).filteredOn(t -> t.transactionType() == TransactionType.INCOME)
+                .singleElement()
+                .satisfies(t -> assertThat(t.totalTry()).isEqualByComparingTo("5000.00"));
+    }
+
+    private MonthlyRollup rollup(String yearMonth, PaymentMethod paymentMethod, String total) {
+        return MonthlyRollup.builder()
+                .userProfileId(userId)
+                .yearMonth(yearMonth)
+                .transactionType(TransactionType.EXPENSE)
+                .category(Category.FOOD)
+                .paymentMethod(paymentMethod)
+                .totalTry(new BigDecimal(total))
+                .transactionCount(1L)
+                .build();
+    }
+}
@@ -1,6 +1,12 @@
 package com.alpeerkaraca.fintrackserver.repository;
 
+import com.alpeerkaraca.fintrackserver.dto.InstallmentPlan;
+import com.alpeerkaraca.fintrackserver.dto.MonthlyCategoryTotal;
+import com.alpeerkaraca.fintrackserver.dto.TransactionCursor;
+import com.alpeerkaraca.fintrackserver.dto.TransactionFilter;
+import com.alpeerkaraca.fintrackserver.dto.TransactionRow;
 import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.InstallmentMeta;
 import com.alpeerkaraca.fintrackserver.model.PaymentMethod;
 import com.alpeerkaraca.fintrackserver.model.Transaction;
 import com.alpeerkaraca.fintrackserver.model.TransactionType;
@@ -8,13 +14,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import static com.alpeerkaraca.fintrackserver.specifications.TransactionSpecifications.after;
+import static com.alpeerkaraca.fintrackserver.specifications.TransactionSpecifications.withFilter;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -383,4 +399,223 @@ class TransactionsRepositoryTest {
         Transaction found = transactionsRepository.findById(saved.getId()).get();
         assertThat(found.getAmountTry()).isEqualByComparingTo(BigDecimal.valueOf(123.45));
     }
+
+    @Test
+    void shouldSumAmountsByMonthTypeAndCategory() {
+        transactionsRepository.saveAll(List.of(
+                transaction(LocalDate.of(2025, 1, 5), Category.FOOD, TransactionType.EXPENSE, "100.50"),
+                transaction(LocalDate.of(2025, 1, 20), Category.FOOD, TransactionType.EXPENSE, "49.50"),
+                transaction(LocalDate.of(2025, 1, 25), Category.SALARY, TransactionType.INCOME, "5000.00"),
+                transaction(LocalDate.of(2025, 2, 3), Category.FOOD, TransactionType.EXPENSE, "75.00"),
+                transaction(LocalDate.of(2025, 4, 1), Category.FOOD, TransactionType.EXPENSE, "999.00")));
+
+        List<MonthlyCategoryTotal> totals = transactionsRepository.sumByMonthTypeAndCategory(
+                testUserProfile.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+
+        assertThat(totals).hasSize(3);
+        MonthlyCategoryTotal januaryFood = totals.stream()
+                .filter(t -> t.month() == 1 && t.category() == Category.FOOD)
+                .findFirst().orElseThrow();
+        assertThat(januaryFood.year()).isEqualTo(2025);
+        assertThat(januaryFood.transactionType()).isEqualTo(TransactionType.EXPENSE);
+        assertThat(januaryFood.totalTry()).isEqualByComparingTo("150.00");
+        assertThat(januaryFood.transactionCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldStoreInstallmentEndMonthOnSave() {
+        Transaction saved = transactionsRepository.saveAndFlush(installment("2025-11", 4, "1000.00"));
+
+        assertThat(saved.getInstallmentMeta().getEndMonth()).isEqualTo("2026-02");
+    }
+
+    @Test
+    void shouldSumOnlyInstallmentsActiveInMonth() {
+        transactionsRepository.saveAll(List.of(
+                installment("2025-01", 3, "300.00"),
+                installment("2025-03", 2, "1000.00"),
+                installment("2025-04", 6, "600.00"),
+                transaction(LocalDate.of(2025, 3, 5), Category.FOOD, TransactionType.EXPENSE, "40.00")));
+        transactionsRepository.flush();
+
+        Optional<BigDecimal> march = transactionsRepository.sumActiveInstallments(
+                testUserProfile.getId(), PaymentMethod.CARD, TransactionType.EXPENSE, "2025-03");
+        Optional<BigDecimal> december = transactionsRepository.sumActiveInstallments(
+                testUserProfile.getId(), PaymentMethod.CARD, TransactionType.EXPENSE, "2025-12");
+
+        assertThat(march).hasValueSatisfying(sum -> assertThat(sum).isEqualByComparingTo("600.00"));
+        assertThat(december).isEmpty();
+    }
+
+    @Test
+    void shouldFindInstallmentPlansOverlappingMonthRange() {
+        transactionsRepository.saveAll(List.of(
+                installment("2024-10", 3, "300.00"),
+                installment("2025-01", 3, "300.00"),
+                installment("2025-03", 2, "1000.00"),
+                installment("2025-04", 6, "600.00")));
+        transactionsRepository.flush();
+
+        List<InstallmentPlan> plans = transactionsRepository.findActiveInstallmentPlans(
+                testUserProfile.getId(), PaymentMethod.CARD, TransactionType.EXPENSE, "2025-02", "2025-03");
+
+        assertThat(plans).extracting(InstallmentPlan::startMonth).containsExactlyInAnyOrder("2025-01", "2025-03");
+        InstallmentPlan march = plans.stream().filter(p -> p.startMonth().equals("2025-03")).findFirst().orElseThrow();
+        assertThat(march.endMonth()).isEqualTo("2025-04");
+        assertThat(march.monthlyAmountTry()).isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    void shouldMatchOnlyActiveInstallmentsInExpandedFilter() {
+        transactionsRepository.saveAll(List.of(
+                installment("2024-06", 3, "300.00"),
+                installment("2025-02", 3, "900.00"),
+                installment("2025-03", 12, "1200.00"),
+                transaction(LocalDate.of(2025, 3, 5), Category.FOOD, TransactionType.EXPENSE, "40.00")));
+        transactionsRepository.flush();
+        TransactionFilter filter = TransactionFilter.builder().month(3).year(2025).expanded(true).build();
+
+        Page<Transaction> page = transactionsRepository.findAll(
+                withFilter(testUserProfile.getId(), filter), PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(Transaction::getTitle)
+                .containsExactlyInAnyOrder("Installment 2025-02", "Installment 2025-03", "Food");
+    }
+
+    @Test
+    void shouldSeekPastCursorWithoutSkippingOrRepeatingRows() {
+        List<Transaction> saved = transactionsRepository.saveAll(List.of(
+                transaction(LocalDate.of(2025, 3, 1), Category.FOOD, TransactionType.EXPENSE, "1.00"),
+                transaction(LocalDate.of(2025, 3, 1), Category.FOOD, TransactionType.EXPENSE, "2.00"),
+                transaction(LocalDate.of(2025, 3, 1), Category.FOOD, TransactionType.EXPENSE, "3.00"),
+                transaction(LocalDate.of(2025, 2, 10), Category.FOOD, TransactionType.EXPENSE, "4.00"),
+                transaction(LocalDate.of(2025, 1, 5), Category.FOOD, TransactionType.EXPENSE, "5.00")));
+        transactionsRepository.flush();
+        Sort order = Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.ASC, "id"));
+        TransactionFilter noFilter = TransactionFilter.builder().build();
+
+        List<Transaction> scrolled = new ArrayList<>();
+        TransactionCursor cursor = null;
+        do {
+            List<Transaction> page = transactionsRepository.findBy(
+                    withFilter(testUserProfile.getId(), noFilter).and(after(cursor)),
+                    query -> query.sortBy(order).limit(2).all());
+            scrolled.addAll(page);
+            cursor = page.isEmpty() ? null : new TransactionCursor(page.getLast().getDate(), page.getLast().getId());
+        } while (cursor != null);
+
+        assertThat(scrolled).hasSize(saved.size());
+        assertThat(scrolled).extracting(Transaction::getId)
+                .containsExactlyElementsOf(transactionsRepository.findAll(order).stream().map(Transaction::getId).toList());
+    }
+
+    @Test
+    void shouldProjectFilteredRowsIntoPage() {
+        transactionsRepository.saveAll(List.of(
+                installment("2025-02", 3, "900.00"),
+                transaction(LocalDate.of(2025, 3, 5), Category.FOOD, TransactionType.EXPENSE, "40.00"),
+                transaction(LocalDate.of(2025, 3, 9), Category.FOOD, TransactionType.EXPENSE, "60.00")));
+        transactionsRepository.flush();
+        TransactionFilter filter = TransactionFilter.builder().month(3).year(2025).expanded(true).build();
+        Sort order = Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.ASC, "id"));
+
+        Page<TransactionRow> page = transactionsRepository.findRows(
+                withFilter(testUserProfile.getId(), filter), PageRequest.of(0, 2, order));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(TransactionRow::amountTry)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("60.00"), new BigDecimal("40.00"));
+        TransactionRow installmentRow = transactionsRepository.findRows(
+                withFilter(testUserProfile.getId(), filter), PageRequest.of(1, 2, order)).getContent().get(0);
+        assertThat(installmentRow.isInstallment()).isTrue();
+        assertThat(installmentRow.toDto().getInstallmentMeta().getEndMonth()).isEqualTo("2025-04");
+    }
+
+    @Test
+    void shouldStreamRowsInListingOrder() {
+        transactionsRepository.saveAll(List.of(
+                transaction(LocalDate.of(2025, 1, 5), Category.FOOD, TransactionType.EXPENSE, "10.00"),
+                transaction(LocalDate.of(2025, 3, 5), Category.FOOD, TransactionType.EXPENSE, "30.00"),
+                transaction(LocalDate.of(2025, 2, 5), Category.FOOD, TransactionType.EXPENSE, "20.00")));
+        transactionsRepository.flush();
+        Sort order = Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.ASC, "id"));
+
+        try (Stream<TransactionRow> rows = transactionsRepository.streamRows(
+                withFilter(testUserProfile.getId(), TransactionFilter.builder().build()), order)) {
+            assertThat(rows.map(TransactionRow::date)).containsExactly(
+                    LocalDate.of(2025, 3, 5), LocalDate.of(2025, 2, 5), LocalDate.of(2025, 1, 5));
+        }
+    }
+
+    @Test
+    void shouldSearchTitlesIgnoringCaseAndLikeWildcards() {
+        Transaction netflix = transaction(LocalDate.of(2025, 3, 1), Category.ENTERTAINMENT, TransactionType.EXPENSE, "10.00");
+        netflix.setTitle("NETFLIX subscription");
+        Transaction discount = transaction(LocalDate.of(2025, 3, 2), Category.SHOPPING, TransactionType.EXPENSE, "20.00");
+        discount.setTitle("Shoes 50% off");
+        transactionsRepository.saveAll(List.of(netflix, discount,
+                transaction(LocalDate.of(2025, 3, 3), Category.FOOD, TransactionType.EXPENSE, "30.00")));
+        transactionsRepository.flush();
+
+        Page<TransactionRow> byWord = transactionsRepository.findRows(
+                withFilter(testUserProfile.getId(), TransactionFilter.builder().q(" netflix ").build()),
+                PageRequest.of(0, 10));
+        Page<TransactionRow> byPercent = transactionsRepository.findRows(
+                withFilter(testUserProfile.getId(), TransactionFilter.builder().q("50%").build()),
+                PageRequest.of(0, 10));
+        Page<TransactionRow> wildcardOnly = transactionsRepository.findRows(
+                withFilter(testUserProfile.getId(), TransactionFilter.builder().q("%").build()),
+                PageRequest.of(0, 10));
+
+        assertThat(byWord.getContent()).extracting(TransactionRow::title).containsExactly("NETFLIX subscription");
+        assertThat(byPercent.getContent()).extracting(TransactionRow::title).containsExactly("Shoes 50% off");
+        assertThat(wildcardOnly.getContent()).extracting(TransactionRow::title).containsExactly("Shoes 50% off");
+    }
+
+    @Test
+    void shouldOrderEqualRelevanceSearchResultsByListingOrder() {
+        transactionsRepository.saveAll(List.of(
+                transaction(LocalDate.of(2025, 1, 5), Category.FOOD, TransactionType.EXPENSE, "10.00"),
+                transaction(LocalDate.of(2025, 3, 5), Category.FOOD, TransactionType.EXPENSE, "30.00"),
+                transaction(LocalDate.of(2025, 2, 5), Category.FOOD, TransactionType.EXPENSE, "20.00")));
+        transactionsRepository.flush();
+        String term = Category.FOOD.getLabel().substring(0, 3);
+
+        Page<TransactionRow> page = transactionsRepository.findRows(
+                withFilter(testUserProfile.getId(), TransactionFilter.builder().q(term).build()),
+                PageRequest.of(0, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(TransactionRow::date)
+                .containsExactly(LocalDate.of(2025, 3, 5), LocalDate.of(2025, 2, 5));
+    }
+
+    private Transaction installment(String startMonth, int months, String totalTry) {
+        BigDecimal total = new BigDecimal(totalTry);
+        return Transaction.builder()
+                .title("Installment " + startMonth)
+                .amountTry(total.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP))
+                .date(YearMonth.parse(startMonth).atDay(1))
+                .category(Category.SHOPPING)
+                .transactionType(TransactionType.EXPENSE)
+                .paymentMethod(PaymentMethod.CARD)
+                .isInstallment(true)
+                .installmentMeta(new InstallmentMeta(total, months, startMonth, null))
+                .userProfile(testUserProfile)
+                .build();
+    }
+
+    private Transaction transaction(LocalDate date, Category category, TransactionType type, String amount) {
+        return Transaction.builder()
+                .title(category.getLabel())
+                .amountTry(new BigDecimal(amount))
+                .date(date)
+                .category(category)
+                .transactionType(type)
+                .paymentMethod(PaymentMethod.CARD)
+                .userProfile(testUserProfile)
+                .build();
+    }
 }
@@ -29,6 +29,7 @@ class JwtServiceTest {
         ReflectionTestUtils.setField(jwtService, "jwtAudience", AUDIENCE);
         ReflectionTestUtils.setField(jwtService, "jwtExpirationMillis", ACCESS_EXP);
         ReflectionTestUtils.setField(jwtService, "jwtRefreshExpirationMillis", REFRESH_EXP);
+        jwtService.init();
     }
 
     @Test
@@ -62,6 +63,25 @@ class JwtServiceTest {
         assertThat(jwtService.extractRoles(pair.accessToken())).containsExactlyElementsOf(roles);
     }
 
+    @Test
+    @DisplayName("Should verify token once and expose all claims needed for the principal")
+    void shouldVerifyTokenIntoClaims() {
+        UUID userId = UUID.randomUUID();
+        List<String> roles = List.of("ROLE_USER");
+
+        TokenPair pair = jwtService.generateTokenPair(userId.toString(), "test@test.com", "testuser", roles);
+
+        assertThat(jwtService.verify(pair.accessToken(), "access")).hasValueSatisfying(claims -> {
+            assertThat(claims.userId()).isEqualTo(userId);
+            assertThat(claims.username()).isEqualTo("testuser");
+            assertThat(claims.email()).isEqualTo("test@test.com");
+            assertThat(claims.roles()).containsExactlyElementsOf(roles);
+            assertThat(claims.tokenType()).isEqualTo("access");
+        });
+        assertThat(jwtService.verify(pair.refreshToken(), "access")).isEmpty();
+        assertThat(jwtService.verify(pair.accessToken() + "manipulated", "access")).isEmpty();
+    }
+
     @Test
     @DisplayName("Should fail validation when token type mismatch occurs")
     void shouldFailWhenTokenTypeMismatch() {
@@ -0,0 +1,65 @@
+package com.alpeerkaraca.fintrackserver.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(meterRegistry, 100);
+    }
+
+    @Test
+    @DisplayName("Should return cached principal for a previously verified token")
+    void shouldReturnCachedPrincipal() {
+        JwtClaims claims = claimsExpiringAt(Instant.now().plusSeconds(3600));
+        UserPrincipal principal = UserPrincipal.from(claims);
+
+        cache.put("access.jwt.token", claims, principal);
+
+        assertThat(cache.get("access.jwt.token")).contains(principal);
+        assertThat(cache.get("other.jwt.token")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not return principal once the token has expired")
+    void shouldNotReturnExpiredToken() {
+        JwtClaims claims = claimsExpiringAt(Instant.now().minusSeconds(1));
+
+        cache.put("expired.jwt.token", claims, UserPrincipal.from(claims));
+
+        assertThat(cache.get("expired.jwt.token")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should record hit and miss metrics")
+    void shouldRecordHitAndMissMetrics() {
+        JwtClaims claims = claimsExpiringAt(Instant.now().plusSeconds(3600));
+        cache.put("access.jwt.token", claims, UserPrincipal.from(claims));
+
+        cache.get("access.jwt.token");
+        cache.get("unknown.jwt.token");
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private JwtClaims claimsExpiringAt(Instant expiresAt) {
+        return new JwtClaims(UUID.randomUUID(), "testuser", "test@test.com", List.of("ROLE_USER"), "access", expiresAt);
+    }
+}
@@ -4,6 +4,7 @@ import com.alpeerkaraca.fintrackserver.dto.*;
 import com.alpeerkaraca.fintrackserver.model.*;
 import com.alpeerkaraca.fintrackserver.repository.BudgetCategoryRepository;
 import com.alpeerkaraca.fintrackserver.repository.BudgetMonthRepository;
+import com.alpeerkaraca.fintrackserver.repository.MonthlyRollupRepository;
 import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
 import com.alpeerkaraca.fintrackserver.repository.UserProfileRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -33,6 +35,9 @@ class BudgetServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
     @Mock
     private UserProfileRepository userProfileRepository;
 
@@ -40,7 +45,7 @@ class BudgetServiceTest {
     private TransactionService transactionService;
 
     @Mock
-    private MarketDataService marketDataService;
+    private MarketSnapshotService marketSnapshotService;
 
     @InjectMocks
     private BudgetService budgetService;
@@ -86,43 +91,39 @@ class BudgetServiceTest {
 
     @Test
     void shouldGetBudgetSummaryWhenBudgetMonthExists() {
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
         when(budgetMonthRepository.findByUserProfileIdAndMonthAndYear(testUserId, 1, 2024))
                 .thenReturn(Optional.of(testBudgetMonth));
-        when(transactionRepository.findByUserProfileIdAndPaymentMethodAndTransactionType(
-                eq(testUserId), any(), any())).thenReturn(Collections.emptyList());
         when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
 
         BudgetSummaryDto result = budgetService.getBudgetSummary(testUserId, 1, 2024);
 
         assertThat(result).isNotNull();
-        assertThat(result.getIncome()).isEqualByComparingTo(BigDecimal.valueOf(100000));
-        assertThat(result.getExpense()).isEqualByComparingTo(BigDecimal.valueOf(70000));
-        assertThat(result.getSavings()).isEqualByComparingTo(BigDecimal.valueOf(30000));
-        assertThat(result.getUsdRate()).isEqualByComparingTo(BigDecimal.valueOf(33.5));
+        assertThat(result.income()).isEqualByComparingTo(BigDecimal.valueOf(100000));
+        assertThat(result.expense()).isEqualByComparingTo(BigDecimal.valueOf(70000));
+        assertThat(result.savings()).isEqualByComparingTo(BigDecimal.valueOf(30000));
+        assertThat(result.usdRate()).isEqualByComparingTo(BigDecimal.valueOf(33.5));
     }
 
     @Test
     void shouldCalculateBudgetSummaryWhenBudgetMonthDoesNotExist() {
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
         when(budgetMonthRepository.findByUserProfileIdAndMonthAndYear(testUserId, 1, 2024))
                 .thenReturn(Optional.empty());
         when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(transactionRepository.findByUserProfileIdAndPaymentMethodAndTransactionType(
-                eq(testUserId), any(), any())).thenReturn(Collections.emptyList());
 
         BudgetSummaryDto result = budgetService.getBudgetSummary(testUserId, 1, 2024);
 
         assertThat(result).isNotNull();
-        assertThat(result.getIncome()).isNotNull();
-        assertThat(result.getUsdRate()).isEqualByComparingTo(BigDecimal.valueOf(33.5));
-        verify(marketDataService).getUsdToTryInfo();
+        assertThat(result.income()).isNotNull();
+        assertThat(result.usdRate()).isEqualByComparingTo(BigDecimal.valueOf(33.5));
+        verify(marketSnapshotService).getUsdToTryInfo();
     }
 
     @Test
     void shouldGetBudgetForecast() {
-        when(budgetMonthRepository.findByUserProfileIdAndMonthAndYear(eq(testUserId), anyInt(), anyInt()))
-                .thenReturn(Optional.empty());
+        when(budgetMonthRepository.findByUserProfileIdAndYearBetween(eq(testUserId), anyInt(), anyInt()))
+                .thenReturn(List.of());
 
         List<ForecastResponse> result = budgetService.getBudgetForecast(testUserId);
 
@@ -132,6 +133,57 @@ class BudgetServiceTest {
         assertThat(result.get(0).label()).isNotNull();
     }
 
+    @Test
+    void shouldBuildForecastFromRangeQueries() {
+        YearMonth current = YearMonth.now();
+        YearMonth saved = current.minusMonths(1);
+        YearMonth computed = current.minusMonths(2);
+        BudgetMonth savedMonth = BudgetMonth.builder()
+                .userProfile(testUser)
+                .month(saved.getMonthValue())
+                .year(saved.getYear())
+                .netSavingsTry(BigDecimal.valueOf(30000))
+                .build();
+        BudgetMonth outsideWindow = BudgetMonth.builder()
+                .userProfile(testUser)
+                .month(current.minusMonths(20).getMonthValue())
+                .year(current.minusMonths(20).getYear())
+                .netSavingsTry(BigDecimal.valueOf(99999))
+                .build();
+        when(budgetMonthRepository.findByUserProfileIdAndYearBetween(testUserId, current.minusMonths(12).getYear(), current.plusMonths(12).getYear()))
+                .thenReturn(List.of(savedMonth, outsideWindow));
+        when(monthlyRollupRepository.sumByUserIdAndMonthBetweenGroupByType(testUserId, current.minusMonths(12).toString(), current.toString()))
+                .thenReturn(List.of(
+                        new MonthlyTypeTotal(computed.toString(), TransactionType.INCOME, BigDecimal.valueOf(10000)),
+                        new MonthlyTypeTotal(computed.toString(), TransactionType.EXPENSE, BigDecimal.valueOf(4000))));
+        when(transactionRepository.findActiveInstallmentPlans(testUserId, PaymentMethod.CARD, TransactionType.EXPENSE,
+                current.minusMonths(12).toString(), current.toString()))
+                .thenReturn(List.of(new InstallmentPlan(BigDecimal.valueOf(500), computed.minusMonths(1).toString(), computed.toString())));
+
+        List<ForecastResponse> result = budgetService.getBudgetForecast(testUserId, 12, 12);
+
+        assertThat(result).hasSize(25);
+        assertThat(result.getFirst().month()).isEqualTo(current.minusMonths(12).toString());
+        assertThat(result.getLast().month()).isEqualTo(current.plusMonths(12).toString());
+        assertThat(result.get(9).savings()).isEqualByComparingTo(BigDecimal.valueOf(-500));
+        assertThat(result.get(10).savings()).isEqualByComparingTo(BigDecimal.valueOf(5500));
+        assertThat(result.get(11).savings()).isEqualByComparingTo(BigDecimal.valueOf(30000));
+        assertThat(result.get(13).savings()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(monthlyRollupRepository, never()).sumByUserIdAndMonthAndType(any(), any(), any());
+        verify(transactionRepository, never()).sumActiveInstallments(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldCapForecastHorizon() {
+        when(budgetMonthRepository.findByUserProfileIdAndYearBetween(eq(testUserId), anyInt(), anyInt()))
+                .thenReturn(List.of());
+
+        List<ForecastResponse> result = budgetService.getBudgetForecast(testUserId, 1000, -5);
+
+        assertThat(result).hasSize(25);
+        assertThat(result.getLast().month()).isEqualTo(YearMonth.now().toString());
+    }
+
     @Test
     void shouldGetCategoryWatchlist() {
         testBudgetMonth.setCategories(Arrays.asList(testCategory));
@@ -148,9 +200,9 @@ class BudgetServiceTest {
         List<BudgetCategoryResponse> result = budgetService.getCategoryWatchlist(testUserId, 1, 2024);
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getCategory()).isEqualTo(Category.FOOD);
-        assertThat(result.get(0).getLimitTry()).isEqualByComparingTo(BigDecimal.valueOf(5000));
-        assertThat(result.get(0).getSpentTry()).isEqualByComparingTo(BigDecimal.valueOf(3000));
+        assertThat(result.get(0).category()).isEqualTo(Category.FOOD);
+        assertThat(result.get(0).limitTry()).isEqualByComparingTo(BigDecimal.valueOf(5000));
+        assertThat(result.get(0).spentTry()).isEqualByComparingTo(BigDecimal.valueOf(3000));
     }
 
     @Test
@@ -180,7 +232,7 @@ class BudgetServiceTest {
 
         List<BudgetCategoryResponse> result = budgetService.getCategoryWatchlist(testUserId, 1, 2024);
 
-        assertThat(result.get(0).getAlertLevel()).isEqualTo("warning");
+        assertThat(result.get(0).alertLevel()).isEqualTo("warning");
     }
 
     @Test
@@ -198,7 +250,7 @@ class BudgetServiceTest {
 
         List<BudgetCategoryResponse> result = budgetService.getCategoryWatchlist(testUserId, 1, 2024);
 
-        assertThat(result.get(0).getAlertLevel()).isEqualTo("normal");
+        assertThat(result.get(0).alertLevel()).isEqualTo("normal");
     }
 
     @Test
@@ -216,7 +268,7 @@ class BudgetServiceTest {
 
         List<BudgetCategoryResponse> result = budgetService.getCategoryWatchlist(testUserId, 1, 2024);
 
-        assertThat(result.get(0).getAlertLevel()).isEqualTo("normal");
+        assertThat(result.get(0).alertLevel()).isEqualTo("normal");
     }
 
     @Test
@@ -243,49 +295,48 @@ class BudgetServiceTest {
 
     @Test
     void shouldHandleZeroExpense() {
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
         testBudgetMonth.setExpenseTry(BigDecimal.ZERO);
         when(budgetMonthRepository.findByUserProfileIdAndMonthAndYear(testUserId, 1, 2024))
                 .thenReturn(Optional.of(testBudgetMonth));
-        when(transactionRepository.findByUserProfileIdAndPaymentMethodAndTransactionType(
-                eq(testUserId), any(), any())).thenReturn(Collections.emptyList());
         when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
 
         BudgetSummaryDto result = budgetService.getBudgetSummary(testUserId, 1, 2024);
 
-        assertThat(result.getExpense()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(result.expense()).isEqualByComparingTo(BigDecimal.ZERO);
     }
 
     @Test
     void shouldHandleNegativeSavings() {
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
         testBudgetMonth.setExpenseTry(BigDecimal.valueOf(120000));
         testBudgetMonth.setNetSavingsTry(BigDecimal.valueOf(-20000));
         when(budgetMonthRepository.findByUserProfileIdAndMonthAndYear(testUserId, 1, 2024))
                 .thenReturn(Optional.of(testBudgetMonth));
-        when(transactionRepository.findByUserProfileIdAndPaymentMethodAndTransactionType(
-                eq(testUserId), any(), any())).thenReturn(Collections.emptyList());
         when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
 
         BudgetSummaryDto result = budgetService.getBudgetSummary(testUserId, 1, 2024);
 
-        assertThat(result.getSavings()).isNegative();
+        assertThat(result.savings()).isNegative();
     }
 
     @Test
     void shouldCalculateCreditCardLimit() {
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
         when(budgetMonthRepository.findByUserProfileIdAndMonthAndYear(testUserId, 1, 2024))
                 .thenReturn(Optional.of(testBudgetMonth));
         when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(transactionRepository.findByUserProfileIdAndPaymentMethodAndTransactionType(
-                eq(testUserId), eq(PaymentMethod.CARD), eq(TransactionType.EXPENSE)))
-                .thenReturn(Collections.emptyList());
+        when(transactionRepository.sumCardExpensesByUserIdAndPeriod(
+                testUserId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(Optional.of(BigDecimal.valueOf(2000)));
+        when(transactionRepository.sumActiveInstallments(
+                testUserId, PaymentMethod.CARD, TransactionType.EXPENSE, "2024-01"))
+                .thenReturn(Optional.of(BigDecimal.valueOf(1000)));
 
         BudgetSummaryDto result = budgetService.getBudgetSummary(testUserId, 1, 2024);
 
-        assertThat(result.getCreditCardLimit()).isNotNull();
-        assertThat(result.getCreditCardLimit()).isEqualByComparingTo(BigDecimal.valueOf(50000));
+        assertThat(result.creditCardLimit()).isNotNull();
+        assertThat(result.creditCardLimit()).isEqualByComparingTo(BigDecimal.valueOf(47000));
     }
 
     @Test
@@ -320,7 +371,7 @@ class BudgetServiceTest {
         List<BudgetCategoryResponse> result = budgetService.getCategoryWatchlist(testUserId, 1, 2024);
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getSpentTry()).isEqualByComparingTo(BigDecimal.valueOf(1000));
+        assertThat(result.get(0).spentTry()).isEqualByComparingTo(BigDecimal.valueOf(1000));
     }
 
     @Test
@@ -338,6 +389,19 @@ class BudgetServiceTest {
 
         List<BudgetCategoryResponse> result = budgetService.getCategoryWatchlist(testUserId, 1, 2024);
 
-        assertThat(result.get(0).getSpentTry()).isEqualByComparingTo(BigDecimal.valueOf(1000));
+        assertThat(result.get(0).spentTry()).isEqualByComparingTo(BigDecimal.valueOf(1000));
+    }
+
+    @Test
+    void shouldReadMonthlyTotalsFromRollups() {
+        when(monthlyRollupRepository.sumByUserIdAndMonthAndType(eq(testUserId), anyString(), eq(TransactionType.INCOME)))
+                .thenReturn(Optional.of(BigDecimal.valueOf(10000)));
+        when(monthlyRollupRepository.sumByUserIdAndMonthAndType(eq(testUserId), anyString(), eq(TransactionType.EXPENSE)))
+                .thenReturn(Optional.of(BigDecimal.valueOf(9000)));
+
+        String alert = budgetService.getBudgetAlerts(testUserId);
+
+        assertThat(alert).isEqualTo("DANGER");
+        verify(transactionRepository, never()).sumAmountByUserIdAndMonthAndYearAndType(any(), any(), any(), any());
     }
 }
@@ -0,0 +1,132 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.config.TwoTierCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private TwoTierCacheManager cacheManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheService cacheService;
+    private Consumer<String> remoteBumps;
+
+    private UUID testUserId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        testUserId = UUID.randomUUID();
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        cacheService = new CacheService(stringRedisTemplate, cacheManager, meterRegistry);
+
+        ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheManager).addInvalidationListener(eq("cacheGeneration"), listener.capture());
+        remoteBumps = listener.getValue();
+    }
+
+    @Test
+    @DisplayName("Should build keys with generation zero when user has no counter yet")
+    void shouldUseGenerationZeroWhenCounterMissing() {
+        when(valueOperations.get("cacheGeneration::" + testUserId)).thenReturn(null);
+
+        assertThat(cacheService.overviewKey(testUserId, 2024, 3)).isEqualTo(testUserId + ":g0:2024-03");
+        assertThat(cacheService.reportSummaryKey(testUserId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)))
+                .isEqualTo(testUserId + "_g0_2024-01-01_2024-03-31");
+    }
+
+    @Test
+    @DisplayName("Should embed current generation in cache keys")
+    void shouldEmbedCurrentGeneration() {
+        when(valueOperations.get("cacheGeneration::" + testUserId)).thenReturn("7");
+
+        assertThat(cacheService.overviewKey(testUserId, 2024, 12)).isEqualTo(testUserId + ":g7:2024-12");
+    }
+
+    @Test
+    @DisplayName("Should invalidate user caches with a single INCR and never scan keys")
+    void shouldBumpGenerationOnEvict() {
+        when(valueOperations.increment("cacheGeneration::" + testUserId)).thenReturn(8L);
+
+        cacheService.evictAllUserCaches(testUserId);
+
+        verify(valueOperations).increment("cacheGeneration::" + testUserId);
+        verify(stringRedisTemplate, never()).keys(anyString());
+        assertThat(meterRegistry.get("fintrack.cache.user.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should read the generation from Redis only on a local miss")
+    void shouldHoldGenerationLocally() {
+        when(valueOperations.get("cacheGeneration::" + testUserId)).thenReturn("3");
+
+        cacheService.overviewKey(testUserId, 2024, 1);
+        cacheService.overviewKey(testUserId, 2024, 2);
+        String reportKey = cacheService.reportSummaryKey(testUserId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        assertThat(reportKey).isEqualTo(testUserId + "_g3_2024-01-01_2024-01-31");
+        verify(valueOperations, times(1)).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Should use and broadcast the bumped generation without reading it back")
+    void shouldApplyAndBroadcastLocalBump() {
+        when(valueOperations.get("cacheGeneration::" + testUserId)).thenReturn("7");
+        when(valueOperations.increment("cacheGeneration::" + testUserId)).thenReturn(8L);
+        cacheService.currentGeneration(testUserId);
+
+        cacheService.evictAllUserCaches(testUserId);
+
+        assertThat(cacheService.overviewKey(testUserId, 2024, 12)).isEqualTo(testUserId + ":g8:2024-12");
+        verify(cacheManager).publishInvalidation("cacheGeneration", testUserId + ":8");
+        verify(valueOperations, times(1)).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Should apply bumps from other nodes and never move the generation backwards")
+    void shouldApplyRemoteBumps() {
+        remoteBumps.accept(testUserId + ":5");
+        remoteBumps.accept(testUserId + ":4");
+
+        assertThat(cacheService.currentGeneration(testUserId)).isEqualTo(5);
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Should drop local generations on a malformed or clear message")
+    void shouldReloadAfterClearMessage() {
+        when(valueOperations.get("cacheGeneration::" + testUserId)).thenReturn("2", "9");
+        cacheService.currentGeneration(testUserId);
+
+        remoteBumps.accept(null);
+
+        assertThat(cacheService.currentGeneration(testUserId)).isEqualTo(9);
+    }
+}
@@ -2,22 +2,24 @@ package com.alpeerkaraca.fintrackserver.service;
 
 import com.alpeerkaraca.fintrackserver.dto.*;
 import com.alpeerkaraca.fintrackserver.model.Category;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,14 +35,15 @@ class DashboardServiceTest {
     private InvestmentService investmentService;
 
     @Mock
-    private MarketDataService marketDataService;
+    private MarketSnapshotService marketSnapshotService;
 
     @Mock
     private TransactionService transactionService;
 
-    @InjectMocks
     private DashboardService dashboardService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private UUID testUserId;
     private BudgetSummaryDto budgetSummary;
     private List<ForecastResponse> forecast;
@@ -50,6 +53,11 @@ class DashboardServiceTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dashboardService = new DashboardService(budgetService, investmentService, marketSnapshotService,
+                transactionService, Executors.newVirtualThreadPerTaskExecutor(), meterRegistry);
+        ReflectionTestUtils.setField(dashboardService, "sectionTimeoutMs", 2000L);
+
         testUserId = UUID.randomUUID();
 
         budgetSummary = BudgetSummaryDto.builder()
@@ -73,9 +81,10 @@ class DashboardServiceTest {
                 .build();
         categoryWatchlist = Arrays.asList(category);
 
-        InvestmentAssetDto investment = new InvestmentAssetDto();
-        investment.setSymbol("AAPL");
-        investment.setCurrentPriceTry(BigDecimal.valueOf(2000));
+        InvestmentAssetDto investment = InvestmentAssetDto.builder()
+                .symbol("AAPL")
+                .currentPriceTry(BigDecimal.valueOf(2000))
+                .build();
         investments = Arrays.asList(investment);
 
         usdTryRate = new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5));
@@ -87,22 +96,22 @@ class DashboardServiceTest {
         when(budgetService.getBudgetForecast(testUserId)).thenReturn(forecast);
         when(budgetService.getCategoryWatchlist(testUserId, 1, 2024)).thenReturn(categoryWatchlist);
         when(investmentService.getUserPortfolio(testUserId)).thenReturn(investments);
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
 
         DashboardOverviewCore result = dashboardService.getOverviewCore(testUserId, 1, 2024);
 
         assertThat(result).isNotNull();
-        assertThat(result.getSummary()).isEqualTo(budgetSummary);
-        assertThat(result.getForecast()).hasSize(2);
-        assertThat(result.getCategoryWatchlist()).hasSize(1);
-        assertThat(result.getInvestments()).hasSize(1);
-        assertThat(result.getCurrentUsdTryRate()).isEqualByComparingTo(BigDecimal.valueOf(33.5));
+        assertThat(result.summary()).isEqualTo(budgetSummary);
+        assertThat(result.forecast()).hasSize(2);
+        assertThat(result.categoryWatchlist()).hasSize(1);
+        assertThat(result.investments()).hasSize(1);
+        assertThat(result.currentUsdTryRate()).isEqualByComparingTo(BigDecimal.valueOf(33.5));
 
         verify(budgetService).getBudgetSummary(testUserId, 1, 2024);
         verify(budgetService).getBudgetForecast(testUserId);
         verify(budgetService).getCategoryWatchlist(testUserId, 1, 2024);
         verify(investmentService).getUserPortfolio(testUserId);
-        verify(marketDataService).getUsdToTryInfo();
+        verify(marketSnapshotService).getUsdToTryInfo();
     }
 
     @Test
@@ -142,11 +151,11 @@ class DashboardServiceTest {
         when(budgetService.getBudgetForecast(testUserId)).thenReturn(forecast);
         when(budgetService.getCategoryWatchlist(testUserId, 1, 2024)).thenReturn(categoryWatchlist);
         when(investmentService.getUserPortfolio(testUserId)).thenReturn(Collections.emptyList());
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
 
         DashboardOverviewCore result = dashboardService.getOverviewCore(testUserId, 1, 2024);
 
-        assertThat(result.getInvestments()).isEmpty();
+        assertThat(result.investments()).isEmpty();
     }
 
     @Test
@@ -155,11 +164,11 @@ class DashboardServiceTest {
         when(budgetService.getBudgetForecast(testUserId)).thenReturn(forecast);
         when(budgetService.getCategoryWatchlist(testUserId, 1, 2024)).thenReturn(Collections.emptyList());
         when(investmentService.getUserPortfolio(testUserId)).thenReturn(investments);
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
 
         DashboardOverviewCore result = dashboardService.getOverviewCore(testUserId, 1, 2024);
 
-        assertThat(result.getCategoryWatchlist()).isEmpty();
+        assertThat(result.categoryWatchlist()).isEmpty();
     }
 
     @Test
@@ -209,13 +218,52 @@ class DashboardServiceTest {
         );
     }
 
+    @Test
+    void shouldDegradeToPartialOverviewWhenSectionFails() {
+        when(budgetService.getBudgetSummary(testUserId, 1, 2024)).thenReturn(budgetSummary);
+        when(budgetService.getBudgetForecast(testUserId)).thenReturn(forecast);
+        when(budgetService.getCategoryWatchlist(testUserId, 1, 2024)).thenReturn(categoryWatchlist);
+        when(investmentService.getUserPortfolio(testUserId)).thenThrow(new RuntimeException("Price API down"));
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
+
+        DashboardOverviewCore result = dashboardService.getOverviewCore(testUserId, 1, 2024);
+
+        assertThat(result.summary()).isEqualTo(budgetSummary);
+        assertThat(result.investments()).isEmpty();
+        assertThat(result.unavailableSections()).containsExactly("investments");
+        assertThat(meterRegistry.get("fintrack.dashboard.section.unavailable")
+                .tags("section", "investments", "reason", "error").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("fintrack.dashboard.section")
+                .tags("section", "summary", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDegradeToPartialOverviewWhenSectionTimesOut() {
+        ReflectionTestUtils.setField(dashboardService, "sectionTimeoutMs", 100L);
+        when(budgetService.getBudgetSummary(testUserId, 1, 2024)).thenReturn(budgetSummary);
+        when(budgetService.getBudgetForecast(testUserId)).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return forecast;
+        });
+        when(budgetService.getCategoryWatchlist(testUserId, 1, 2024)).thenReturn(categoryWatchlist);
+        when(investmentService.getUserPortfolio(testUserId)).thenReturn(investments);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
+
+        DashboardOverviewCore result = dashboardService.getOverviewCore(testUserId, 1, 2024);
+
+        assertThat(result.forecast()).isEmpty();
+        assertThat(result.unavailableSections()).containsExactly("forecast");
+        assertThat(meterRegistry.get("fintrack.dashboard.section.unavailable")
+                .tags("section", "forecast", "reason", "timeout").counter().count()).isEqualTo(1);
+    }
+
     @Test
     void shouldCacheOverviewCore() {
         when(budgetService.getBudgetSummary(testUserId, 1, 2024)).thenReturn(budgetSummary);
         when(budgetService.getBudgetForecast(testUserId)).thenReturn(forecast);
         when(budgetService.getCategoryWatchlist(testUserId, 1, 2024)).thenReturn(categoryWatchlist);
         when(investmentService.getUserPortfolio(testUserId)).thenReturn(investments);
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
 
         DashboardOverviewCore result1 = dashboardService.getOverviewCore(testUserId, 1, 2024);
         DashboardOverviewCore result2 = dashboardService.getOverviewCore(testUserId, 1, 2024);
@@ -230,7 +278,7 @@ class DashboardServiceTest {
         when(budgetService.getBudgetForecast(testUserId)).thenReturn(forecast);
         when(budgetService.getCategoryWatchlist(testUserId, 12, 2023)).thenReturn(categoryWatchlist);
         when(investmentService.getUserPortfolio(testUserId)).thenReturn(investments);
-        when(marketDataService.getUsdToTryInfo()).thenReturn(usdTryRate);
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(usdTryRate);
 
         DashboardOverviewCore result = dashboardService.getOverviewCore(testUserId, 12, 2023);
 
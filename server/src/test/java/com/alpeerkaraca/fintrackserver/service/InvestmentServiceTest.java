@@ -24,7 +24,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -38,13 +40,13 @@ class InvestmentServiceTest {
     private InvestmentAssetRepository assetRepository;
 
     @Mock
-    private PriceService priceService;
+    private UserProfileRepository userProfileRepository;
 
     @Mock
-    private UserProfileRepository userProfileRepository;
+    private MarketSnapshotService marketSnapshotService;
 
     @Mock
-    private MarketDataService marketDataService;
+    private CacheService cacheService;
 
     @InjectMocks
     private InvestmentService investmentService;
@@ -97,19 +99,64 @@ class InvestmentServiceTest {
     void shouldGetUserPortfolio() {
         List<InvestmentAsset> assets = Arrays.asList(testAsset);
         when(assetRepository.findByUserProfileId(testUserId)).thenReturn(assets);
-        when(marketDataService.getUsdToTryInfo())
+        when(marketSnapshotService.getUsdToTryInfo())
                 .thenReturn(new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
-        when(priceService.getInfo(any(), anyString(), any())).thenReturn(
-                new InvestmentExternalDto("AAPL", BigDecimal.valueOf(2000))
+        when(marketSnapshotService.getInfos(any(), anyCollection(), any())).thenReturn(
+                Map.of("AAPL", new InvestmentExternalDto("AAPL", BigDecimal.valueOf(2000)))
         );
 
         List<InvestmentAssetDto> result = investmentService.getUserPortfolio(testUserId);
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getSymbol()).isEqualTo("AAPL");
+        assertThat(result.get(0).symbol()).isEqualTo("AAPL");
         verify(assetRepository).findByUserProfileId(testUserId);
     }
 
+    @Test
+    void shouldPricePortfolioOncePerAssetTypeAndMarket() {
+        InvestmentAsset msft = InvestmentAsset.builder()
+                .id(UUID.randomUUID())
+                .userProfile(testUser)
+                .symbol("MSFT")
+                .name("Microsoft")
+                .quantity(BigDecimal.ONE)
+                .avgCostOriginal(BigDecimal.valueOf(400))
+                .purchaseCurrency("USD")
+                .totalCostTry(new BigDecimal("13400.00"))
+                .type(AssetType.STOCK)
+                .stockMarket(StockMarket.NASDAQ)
+                .build();
+        InvestmentAsset fund = InvestmentAsset.builder()
+                .id(UUID.randomUUID())
+                .userProfile(testUser)
+                .symbol("TRF")
+                .name("Turkey Fund")
+                .quantity(BigDecimal.TEN)
+                .avgCostOriginal(BigDecimal.valueOf(10))
+                .purchaseCurrency("TRY")
+                .totalCostTry(new BigDecimal("100.00"))
+                .type(AssetType.FUND)
+                .stockMarket(StockMarket.TEFAS)
+                .build();
+        when(assetRepository.findByUserProfileId(testUserId)).thenReturn(List.of(testAsset, msft, fund));
+        when(marketSnapshotService.getUsdToTryInfo())
+                .thenReturn(new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
+        when(marketSnapshotService.getInfos(AssetType.STOCK, Set.of("AAPL", "MSFT"), StockMarket.NASDAQ))
+                .thenReturn(Map.of(
+                        "AAPL", new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(2000)),
+                        "MSFT", new InvestmentExternalDto("Microsoft", BigDecimal.valueOf(500))));
+        when(marketSnapshotService.getInfos(AssetType.FUND, Set.of("TRF"), StockMarket.TEFAS))
+                .thenReturn(Map.of());
+
+        List<InvestmentAssetDto> result = investmentService.getUserPortfolio(testUserId);
+
+        assertThat(result).extracting(InvestmentAssetDto::symbol).containsExactly("AAPL", "MSFT", "TRF");
+        assertThat(result.get(1).currentPriceTry()).isEqualByComparingTo("16750");
+        // Unpriced assets fall back to their average cost
+        assertThat(result.get(2).currentPriceTry()).isEqualByComparingTo("10");
+        verify(marketSnapshotService, never()).getInfo(any(), anyString(), any());
+    }
+
     @Test
     void shouldGetEmptyPortfolio() {
         when(assetRepository.findByUserProfileId(testUserId)).thenReturn(Arrays.asList());
@@ -123,16 +170,16 @@ class InvestmentServiceTest {
     void shouldAddInvestment() {
         when(assetRepository.existsByUserProfileIdAndSymbol(testUserId, "AAPL")).thenReturn(false);
         when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(priceService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
+        when(marketSnapshotService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
                 .thenReturn(new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(2000)));
-        when(marketDataService.getUsdToTryInfo()).thenReturn(
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(
                 new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
         when(assetRepository.save(any(InvestmentAsset.class))).thenReturn(testAsset);
 
         InvestmentAssetDto result = investmentService.addInvestment(testUserId, createRequest);
 
         assertThat(result).isNotNull();
-        assertThat(result.getSymbol()).isEqualTo("AAPL");
+        assertThat(result.symbol()).isEqualTo("AAPL");
         verify(assetRepository).save(any(InvestmentAsset.class));
     }
 
@@ -163,17 +210,17 @@ class InvestmentServiceTest {
     void shouldUpdateInvestment() {
         when(assetRepository.findByIdAndUserProfileId(testAssetId, testUserId))
                 .thenReturn(Optional.of(testAsset));
-        when(marketDataService.getUsdToTryInfo()).thenReturn(
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(
                 new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
-        when(priceService.getInfo(any(), anyString(), any()))
+        when(marketSnapshotService.getInfo(any(), anyString(), any()))
                 .thenReturn(new InvestmentExternalDto("AAPL", BigDecimal.valueOf(2000)));
 
         InvestmentAssetDto result = investmentService.updateInvestment(testUserId, updateRequest, testAssetId);
 
         assertThat(result).isNotNull();
-        assertThat(result.getQuantity()).isEqualByComparingTo(BigDecimal.valueOf(15));
+        assertThat(result.quantity()).isEqualByComparingTo(BigDecimal.valueOf(15));
         // avgCostTry = totalCostTry / quantity = (15 * 1600 * 33.5) / 15 = 1600 * 33.5 = 53600
-        assertThat(result.getAvgCostTry()).isEqualByComparingTo(new BigDecimal("53600.00"));
+        assertThat(result.avgCostTry()).isEqualByComparingTo(new BigDecimal("53600.00"));
     }
 
     @Test
@@ -183,16 +230,16 @@ class InvestmentServiceTest {
 
         when(assetRepository.findByIdAndUserProfileId(testAssetId, testUserId))
                 .thenReturn(Optional.of(testAsset));
-        when(marketDataService.getUsdToTryInfo()).thenReturn(
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(
                 new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
-        when(priceService.getInfo(any(), anyString(), any()))
+        when(marketSnapshotService.getInfo(any(), anyString(), any()))
                 .thenReturn(new InvestmentExternalDto("AAPL", BigDecimal.valueOf(2000)));
 
         InvestmentAssetDto result = investmentService.updateInvestment(testUserId, partialUpdate, testAssetId);
 
-        assertThat(result.getQuantity()).isEqualByComparingTo(BigDecimal.valueOf(20));
+        assertThat(result.quantity()).isEqualByComparingTo(BigDecimal.valueOf(20));
         // avgCostTry = totalCostTry / quantity = (20 * 1500 * 33.5) / 20 = 1500 * 33.5 = 50250
-        assertThat(result.getAvgCostTry()).isEqualByComparingTo(new BigDecimal("50250.00"));
+        assertThat(result.avgCostTry()).isEqualByComparingTo(new BigDecimal("50250.00"));
     }
 
     @Test
@@ -233,9 +280,9 @@ class InvestmentServiceTest {
         createRequest.setQuantity(BigDecimal.ZERO);
         when(assetRepository.existsByUserProfileIdAndSymbol(testUserId, "AAPL")).thenReturn(false);
         when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(priceService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
+        when(marketSnapshotService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
                 .thenReturn(new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(2000)));
-        when(marketDataService.getUsdToTryInfo()).thenReturn(
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(
                 new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
         when(assetRepository.save(any(InvestmentAsset.class))).thenReturn(testAsset);
 
@@ -250,10 +297,10 @@ class InvestmentServiceTest {
         createRequest.setSymbol("aapl");
         when(assetRepository.existsByUserProfileIdAndSymbol(testUserId, "aapl")).thenReturn(false);
         when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        // The service will uppercase the symbol when calling priceService.getInfo
-        when(priceService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
+        // The service will uppercase the symbol when calling marketSnapshotService.getInfo
+        when(marketSnapshotService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
                 .thenReturn(new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(2000)));
-        when(marketDataService.getUsdToTryInfo()).thenReturn(
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(
                 new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
         when(assetRepository.save(any(InvestmentAsset.class))).thenAnswer(invocation -> {
             InvestmentAsset saved = invocation.getArgument(0);
@@ -274,34 +321,31 @@ class InvestmentServiceTest {
         
         when(assetRepository.existsByUserProfileIdAndSymbol(testUserId, "TRF")).thenReturn(false);
         when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(priceService.getInfo(AssetType.FUND, "TRF", StockMarket.TEFAS))
+        when(marketSnapshotService.getInfo(AssetType.FUND, "TRF", StockMarket.TEFAS))
                 .thenReturn(new InvestmentExternalDto("Turkey Fund", BigDecimal.valueOf(10)));
-        when(marketDataService.getUsdToTryInfo()).thenReturn(
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(
                 new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
         when(assetRepository.save(any(InvestmentAsset.class))).thenReturn(testAsset);
 
         InvestmentAssetDto result = investmentService.addInvestment(testUserId, createRequest);
 
         assertThat(result).isNotNull();
-        verify(priceService).getInfo(AssetType.FUND, "TRF", StockMarket.TEFAS);
+        verify(marketSnapshotService).getInfo(AssetType.FUND, "TRF", StockMarket.TEFAS);
     }
 
     @Test
     void shouldCalculateProfitCorrectly() {
         when(assetRepository.findByUserProfileId(testUserId)).thenReturn(Arrays.asList(testAsset));
-        when(marketDataService.getUsdToTryInfo()).thenReturn(
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(
                 new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
-        when(priceService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
-                .thenReturn(new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(2000)));
-        // Mock the currency rate fetch
-        when(priceService.getInfo(AssetType.CURRENCY, null, null))
-                .thenReturn(new InvestmentExternalDto("USD/TRY", BigDecimal.valueOf(33.5)));
+        when(marketSnapshotService.getInfos(AssetType.STOCK, Set.of("AAPL"), StockMarket.NASDAQ))
+                .thenReturn(Map.of("AAPL", new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(2000))));
 
         List<InvestmentAssetDto> result = investmentService.getUserPortfolio(testUserId);
 
-        assertThat(result.get(0).getProfitLossTry()).isNotNull();
+        assertThat(result.get(0).profitLossTry()).isNotNull();
         // currentPriceTry = 2000 * 33.5 = 67000
-        assertThat(result.get(0).getCurrentPriceTry()).isEqualByComparingTo(new BigDecimal("67000.00"));
+        assertThat(result.get(0).currentPriceTry()).isEqualByComparingTo(new BigDecimal("67000.00"));
     }
 
     @Test
@@ -310,15 +354,15 @@ class InvestmentServiceTest {
         
         when(assetRepository.findByIdAndUserProfileId(testAssetId, testUserId))
                 .thenReturn(Optional.of(testAsset));
-        when(marketDataService.getUsdToTryInfo()).thenReturn(
+        when(marketSnapshotService.getUsdToTryInfo()).thenReturn(
                 new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
-        when(priceService.getInfo(any(), anyString(), any()))
+        when(marketSnapshotService.getInfo(any(), anyString(), any()))
                 .thenReturn(new InvestmentExternalDto("AAPL", BigDecimal.valueOf(2000)));
 
         InvestmentAssetDto result = investmentService.updateInvestment(testUserId, emptyUpdate, testAssetId);
 
-        assertThat(result.getQuantity()).isEqualByComparingTo(BigDecimal.valueOf(10));
+        assertThat(result.quantity()).isEqualByComparingTo(BigDecimal.valueOf(10));
         // avgCostTry = totalCostTry / quantity = 502500 / 10 = 50250
-        assertThat(result.getAvgCostTry()).isEqualByComparingTo(new BigDecimal("50250.00"));
+        assertThat(result.avgCostTry()).isEqualByComparingTo(new BigDecimal("50250.00"));
     }
 }
@@ -0,0 +1,85 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.MarketPrice;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+import com.alpeerkaraca.fintrackserver.repository.MarketPriceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LastKnownPriceServiceTest {
+
+    @Mock
+    private MarketPriceRepository marketPriceRepository;
+
+    @InjectMocks
+    private LastKnownPriceService lastKnownPriceService;
+
+    private final Instant fetchedAt = Instant.parse("2026-01-02T10:00:00Z");
+
+    @Test
+    void shouldReturnStoredPricesWithFetchTime() {
+        MarketPrice stored = MarketPrice.builder()
+                .assetType(AssetType.FUND)
+                .stockMarket(StockMarket.TEFAS)
+                .symbol("TRF")
+                .name("Turkey Fund")
+                .price(new BigDecimal("12.5"))
+                .fetchedAt(fetchedAt)
+                .build();
+        when(marketPriceRepository.findByAssetTypeAndStockMarketAndSymbolIn(AssetType.FUND, StockMarket.TEFAS, List.of("TRF")))
+                .thenReturn(List.of(stored));
+
+        Map<String, InvestmentExternalDto> result = lastKnownPriceService.find(AssetType.FUND, StockMarket.TEFAS, List.of("TRF"));
+
+        assertThat(result.get("TRF")).isEqualTo(new InvestmentExternalDto("Turkey Fund", new BigDecimal("12.5"), fetchedAt));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldOnlyOverwriteOlderPrices() {
+        MarketPrice older = MarketPrice.builder()
+                .assetType(AssetType.STOCK).stockMarket(StockMarket.NASDAQ).symbol("AAPL")
+                .price(BigDecimal.valueOf(190)).fetchedAt(fetchedAt.minusSeconds(60)).build();
+        MarketPrice newer = MarketPrice.builder()
+                .assetType(AssetType.STOCK).stockMarket(StockMarket.NASDAQ).symbol("MSFT")
+                .price(BigDecimal.valueOf(410)).fetchedAt(fetchedAt.plusSeconds(60)).build();
+        when(marketPriceRepository.findByAssetTypeAndStockMarketAndSymbolIn(eq(AssetType.STOCK), eq(StockMarket.NASDAQ), anyCollection()))
+                .thenReturn(List.of(older, newer));
+
+        lastKnownPriceService.record(AssetType.STOCK, StockMarket.NASDAQ, Map.of(
+                "AAPL", new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(200), fetchedAt),
+                "MSFT", new InvestmentExternalDto("Microsoft", BigDecimal.valueOf(400), fetchedAt),
+                "NVDA", new InvestmentExternalDto("NVIDIA", BigDecimal.valueOf(900), fetchedAt)));
+
+        ArgumentCaptor<List<MarketPrice>> saved = ArgumentCaptor.forClass(List.class);
+        verify(marketPriceRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(MarketPrice::getSymbol).containsExactlyInAnyOrder("AAPL", "NVDA");
+        assertThat(older.getPrice()).isEqualByComparingTo("200");
+        assertThat(newer.getPrice()).isEqualByComparingTo("410");
+    }
+
+    @Test
+    void shouldStoreMissingMarketAsOther() {
+        lastKnownPriceService.record(AssetType.GOLD_SILVER, null,
+                Map.of("altin/gram-altin", new InvestmentExternalDto("Gram Altın", BigDecimal.valueOf(3500), fetchedAt)));
+
+        verify(marketPriceRepository).findByAssetTypeAndStockMarketAndSymbolIn(AssetType.GOLD_SILVER, StockMarket.OTHER, Set.of("altin/gram-altin"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.config.TwoTierCacheManager;
+import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
+import com.alpeerkaraca.fintrackserver.dto.TrackedSymbol;
+import com.alpeerkaraca.fintrackserver.exception.MarketDataFetchException;
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+import com.alpeerkaraca.fintrackserver.repository.InvestmentAssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MarketDataRefresherTest {
+
+    @Mock
+    private InvestmentAssetRepository assetRepository;
+
+    @Mock
+    private MarketDataService marketDataService;
+
+    @Mock
+    private ExecutorService virtualThreadExecutor;
+
+    @Mock
+    private TwoTierCacheManager cacheManager;
+
+    @InjectMocks
+    private MarketDataRefresher marketDataRefresher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cacheManager.tryAcquireRunLock(anyString(), any(Duration.class))).thenReturn(true);
+        lenient().when(assetRepository.findDistinctTrackedSymbols()).thenReturn(List.of(
+                new TrackedSymbol(AssetType.STOCK, "THYAO", StockMarket.BIST),
+                new TrackedSymbol(AssetType.STOCK, "AAPL", StockMarket.NASDAQ),
+                new TrackedSymbol(AssetType.FUND, "QQQ", StockMarket.NASDAQ),
+                new TrackedSymbol(AssetType.FUND, "TRF", StockMarket.TEFAS),
+                new TrackedSymbol(AssetType.FUND, "AFT", StockMarket.TEFAS),
+                new TrackedSymbol(AssetType.GOLD_SILVER, "altin/gram-altin", StockMarket.OTHER)
+        ));
+    }
+
+    @Test
+    void shouldRefreshYahooListedSymbolsInOneBulkCall() {
+        when(marketDataService.refreshStockInfos(anyCollection())).thenReturn(3);
+
+        marketDataRefresher.refreshStocks();
+
+        verify(marketDataService).refreshStockInfos(List.of("THYAO.IS", "AAPL", "QQQ"));
+    }
+
+    @Test
+    void shouldRefreshTefasFundsOnly() {
+        marketDataRefresher.refreshFunds();
+
+        verify(marketDataService).refreshFundInfo("TRF");
+        verify(marketDataService).refreshFundInfo("AFT");
+        verify(marketDataService, never()).refreshFundInfo("QQQ");
+    }
+
+    @Test
+    void shouldKeepRefreshingWhenOneSymbolFails() {
+        when(marketDataService.refreshFundInfo("TRF")).thenThrow(new MarketDataFetchException("fundfy down"));
+        when(marketDataService.refreshFundInfo("AFT")).thenReturn(new InvestmentExternalDto("AFT", BigDecimal.ONE));
+
+        marketDataRefresher.refreshFunds();
+
+        verify(marketDataService).refreshFundInfo("AFT");
+    }
+
+    @Test
+    void shouldRefreshTrackedMetals() {
+        marketDataRefresher.refreshMetals();
+
+        verify(marketDataService).refreshMetalInfo("altin/gram-altin");
+        verifyNoMoreInteractions(marketDataService);
+    }
+
+    @Test
+    void shouldSkipStockRefreshWhenNothingIsHeld() {
+        when(assetRepository.findDistinctTrackedSymbols()).thenReturn(List.of());
+
+        marketDataRefresher.refreshStocks();
+
+        verify(marketDataService, never()).refreshStockInfos(anyCollection());
+    }
+
+    @Test
+    void shouldSkipRefreshWhenAnotherNodeHoldsTheRunLock() {
+        when(cacheManager.tryAcquireRunLock(eq("marketDataRefresh::stockPrices"), any(Duration.class))).thenReturn(false);
+
+        marketDataRefresher.refreshStocks();
+
+        verifyNoInteractions(marketDataService, assetRepository);
+    }
+
+    @Test
+    void shouldWarmUpUnderItsOwnRunLock() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(virtualThreadExecutor).execute(any(Runnable.class));
+
+        marketDataRefresher.warmUpOnStartup();
+
+        verify(cacheManager).tryAcquireRunLock(eq("marketDataRefresh::warmUp"), any(Duration.class));
+        verifyNoMoreInteractions(cacheManager);
+        verify(marketDataService).refreshUsdToTryInfo();
+        verify(marketDataService).refreshStockInfos(List.of("THYAO.IS", "AAPL", "QQQ"));
+    }
+}
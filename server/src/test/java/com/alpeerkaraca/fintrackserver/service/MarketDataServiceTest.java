@@ -1,20 +1,38 @@
 package com.alpeerkaraca.fintrackserver.service;
 
+import com.alpeerkaraca.fintrackserver.config.TwoTierCacheManager;
 import com.alpeerkaraca.fintrackserver.dto.ExchangeRateResponse;
 import com.alpeerkaraca.fintrackserver.dto.FundResponse;
 import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
 import com.alpeerkaraca.fintrackserver.exception.MarketDataFetchException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,14 +44,31 @@ class MarketDataServiceTest {
     @Mock
     private RestClient restClient;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private MarketDataService marketDataService;
 
+    private static final String SPARK_RESPONSE = """
+            {"spark":{"result":[
+              {"symbol":"MSFT","response":[{"meta":{"regularMarketPrice":410.5,"longName":"Microsoft Corporation"}}]},
+              {"symbol":"THYAO.IS","response":[{"meta":{"regularMarketPrice":301.25,"shortName":"TURK HAVA YOLLARI"}}]}
+            ],"error":null}}
+            """;
+
     private String testApiKey = "test-api-key-12345";
 
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(marketDataService, "exchangeApiKey", testApiKey);
+        ReflectionTestUtils.setField(marketDataService, "exchangeRateBaseUrl", "https://v6.exchangerate-api.com");
+        ReflectionTestUtils.setField(marketDataService, "yahooBaseUrl", "https://query1.finance.yahoo.com");
+        ReflectionTestUtils.setField(marketDataService, "fundfyBaseUrl", "https://api.fundfy.net");
+        ReflectionTestUtils.setField(marketDataService, "bloombergHtBaseUrl", "https://bloomberght.com");
     }
 
     @Test
@@ -60,6 +95,9 @@ class MarketDataServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.name()).isEqualTo("USD");
         assertThat(result.price()).isEqualByComparingTo(BigDecimal.valueOf(33.5));
+        assertThat(meterRegistry.get("fintrack.upstream.requests")
+                .tags("upstream", "exchange-rate", "host", "v6.exchangerate-api.com", "outcome", "success")
+                .timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -316,4 +354,71 @@ class MarketDataServiceTest {
                 .isInstanceOf(MarketDataFetchException.class)
                 .hasMessageContaining("Original exception");
     }
+
+    @Test
+    void shouldFetchOnlyUncachedStocksInOneBulkRequest() {
+        Cache stockCache = givenTwoTierStockCache();
+        stockCache.put("AAPL", new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(200)));
+        givenSparkResponse("MSFT,THYAO.IS");
+
+        Map<String, InvestmentExternalDto> result = marketDataService.getStockInfos(List.of("aapl", "msft", "THYAO.IS"));
+
+        assertThat(result).containsOnlyKeys("AAPL", "MSFT", "THYAO.IS");
+        assertThat(result.get("AAPL").name()).isEqualTo("Apple Inc.");
+        assertThat(result.get("MSFT").name()).isEqualTo("Microsoft Corporation");
+        assertThat(result.get("THYAO.IS").price()).isEqualByComparingTo("301.25");
+        verify(restClient, times(1)).get();
+        assertThat(stockCache.get("MSFT", InvestmentExternalDto.class).price()).isEqualByComparingTo("410.5");
+        assertThat(stockCache.get("THYAO.IS", InvestmentExternalDto.class).name()).isEqualTo("TURK HAVA YOLLARI");
+    }
+
+    @Test
+    void shouldCoalesceConcurrentBulkMissesIntoOneRequest() throws Exception {
+        givenTwoTierStockCache();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger requests = new AtomicInteger();
+        when(givenSparkResponse("MSFT,THYAO.IS").body(String.class)).thenAnswer(invocation -> {
+            requests.incrementAndGet();
+            release.await(2, TimeUnit.SECONDS);
+            return SPARK_RESPONSE;
+        });
+
+        List<Future<Map<String, InvestmentExternalDto>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> marketDataService.getStockInfos(List.of("msft", "THYAO.IS"))));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Map<String, InvestmentExternalDto>> result : results) {
+                assertThat(result.get(2, TimeUnit.SECONDS)).containsOnlyKeys("MSFT", "THYAO.IS");
+            }
+        }
+
+        assertThat(requests).hasValue(1);
+    }
+
+    // Redis is replaced by in-memory caches and every load lease is granted, so only the local single-flight applies
+    @SuppressWarnings("unchecked")
+    private Cache givenTwoTierStockCache() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> leases = mock(ValueOperations.class);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(leases);
+        lenient().when(leases.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        TwoTierCacheManager twoTierCacheManager = new TwoTierCacheManager(new ConcurrentMapCacheManager(), redisTemplate,
+                Map.of(), Duration.ofMinutes(1), 100, Duration.ofSeconds(2), new SimpleMeterRegistry());
+        Cache stockCache = twoTierCacheManager.getCache("stockPrices");
+        when(cacheManager.getCache("stockPrices")).thenReturn(stockCache);
+        return stockCache;
+    }
+
+    private RestClient.ResponseSpec givenSparkResponse(String symbols) {
+        RestClient.RequestHeadersUriSpec mockHeadersUri = mock(RestClient.RequestHeadersUriSpec.class);
+        RestClient.ResponseSpec mockResponse = mock(RestClient.ResponseSpec.class);
+        when(restClient.get()).thenReturn(mockHeadersUri);
+        when(mockHeadersUri.uri(anyString(), eq(symbols))).thenReturn(mockHeadersUri);
+        when(mockHeadersUri.retrieve()).thenReturn(mockResponse);
+        lenient().when(mockResponse.body(String.class)).thenReturn(SPARK_RESPONSE);
+        return mockResponse;
+    }
 }
@@ -0,0 +1,74 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
+import com.alpeerkaraca.fintrackserver.model.AssetType;
+import com.alpeerkaraca.fintrackserver.model.StockMarket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MarketSnapshotServiceTest {
+
+    @Mock
+    private PriceService priceService;
+
+    @InjectMocks
+    private MarketSnapshotService marketSnapshotService;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldResolveUsdTryOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(priceService.getInfo(AssetType.CURRENCY, "USD_TRY", StockMarket.OTHER))
+                .thenReturn(new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)))
+                .thenReturn(new InvestmentExternalDto("USD", BigDecimal.valueOf(34.0)));
+
+        BigDecimal first = marketSnapshotService.getUsdToTryInfo().price();
+        BigDecimal second = marketSnapshotService.getUsdToTryInfo().price();
+        BigDecimal viaCurrency = marketSnapshotService.getInfo(AssetType.CURRENCY, null, null).price();
+
+        assertThat(first).isEqualByComparingTo("33.5");
+        assertThat(second).isEqualByComparingTo("33.5");
+        assertThat(viaCurrency).isEqualByComparingTo("33.5");
+        verify(priceService, times(1)).getInfo(AssetType.CURRENCY, "USD_TRY", StockMarket.OTHER);
+    }
+
+    @Test
+    void shouldResolveAssetPriceOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(priceService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
+                .thenReturn(new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(200)));
+
+        marketSnapshotService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ);
+        marketSnapshotService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ);
+
+        verify(priceService, times(1)).getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ);
+    }
+
+    @Test
+    void shouldDelegateEveryCallOutsideRequest() {
+        when(priceService.getInfo(AssetType.CURRENCY, "USD_TRY", StockMarket.OTHER))
+                .thenReturn(new InvestmentExternalDto("USD", BigDecimal.valueOf(33.5)));
+
+        marketSnapshotService.getUsdToTryInfo();
+        marketSnapshotService.getUsdToTryInfo();
+
+        verify(priceService, times(2)).getInfo(AssetType.CURRENCY, "USD_TRY", StockMarket.OTHER);
+    }
+}
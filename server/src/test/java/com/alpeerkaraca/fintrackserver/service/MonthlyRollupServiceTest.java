@@ -0,0 +1,132 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.MonthlyCategoryTotal;
+import com.alpeerkaraca.fintrackserver.model.*;
+import com.alpeerkaraca.fintrackserver.repository.MonthlyRollupRepository;
+import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupServiceTest {
+
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private MonthlyRollupService monthlyRollupService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void shouldUpsertBucketOfTransaction() {
+        monthlyRollupService.record(transaction(new BigDecimal("120.50")));
+
+        verify(monthlyRollupRepository).upsert(userId, "2025-02", "EXPENSE", "FOOD", "CARD", new BigDecimal("120.50"), 1);
+        verify(monthlyRollupRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldUpsertBucketWithoutPaymentMethod() {
+        Transaction transaction = transaction(new BigDecimal("120.50"));
+        transaction.setPaymentMethod(null);
+
+        monthlyRollupService.record(transaction);
+
+        verify(monthlyRollupRepository).upsert(userId, "2025-02", "EXPENSE", "FOOD", null, new BigDecimal("120.50"), 1);
+    }
+
+    @Test
+    void shouldWriteEachBucketOnceWhenRecordingABatch() {
+        Transaction march = transaction(new BigDecimal("5.00"));
+        march.setDate(LocalDate.of(2025, 3, 1));
+
+        monthlyRollupService.recordAll(List.of(
+                transaction(new BigDecimal("10.00")), march, transaction(new BigDecimal("2.50"))));
+
+        verify(monthlyRollupRepository).upsert(userId, "2025-02", "EXPENSE", "FOOD", "CARD", new BigDecimal("12.50"), 2);
+        verify(monthlyRollupRepository).upsert(userId, "2025-03", "EXPENSE", "FOOD", "CARD", new BigDecimal("5.00"), 1);
+        verifyNoMoreInteractions(monthlyRollupRepository);
+    }
+
+    @Test
+    void shouldReadWholeMonthsFromRollupsOnly() {
+        when(monthlyRollupRepository.findByUserProfileIdAndYearMonthBetween(userId, "2025-01", "2025-03"))
+                .thenReturn(List.of(rollup("2025-02", new BigDecimal("300.00"), 4L)));
+
+        List<MonthlyCategoryTotal> totals = monthlyRollupService.totalsBetween(
+                userId, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+
+        assertThat(totals).containsExactly(new MonthlyCategoryTotal(
+                2025, 2, TransactionType.EXPENSE, Category.FOOD, new BigDecimal("300.00"), 4L));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void shouldAggregatePartialEdgeMonthsFromTransactions() {
+        MonthlyCategoryTotal head = new MonthlyCategoryTotal(
+                2025, 1, TransactionType.EXPENSE, Category.FOOD, new BigDecimal("10.00"), 1L);
+        MonthlyCategoryTotal tail = new MonthlyCategoryTotal(
+                2025, 4, TransactionType.INCOME, Category.SALARY, new BigDecimal("500.00"), 1L);
+        when(transactionRepository.sumByMonthTypeAndCategory(userId, LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 31)))
+                .thenReturn(List.of(head));
+        when(transactionRepository.sumByMonthTypeAndCategory(userId, LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 10)))
+                .thenReturn(List.of(tail));
+        when(monthlyRollupRepository.findByUserProfileIdAndYearMonthBetween(userId, "2025-02", "2025-03"))
+                .thenReturn(List.of(rollup("2025-02", new BigDecimal("300.00"), 4L)));
+
+        List<MonthlyCategoryTotal> totals = monthlyRollupService.totalsBetween(
+                userId, LocalDate.of(2025, 1, 15), LocalDate.of(2025, 4, 10));
+
+        assertThat(totals).hasSize(3).contains(head, tail);
+    }
+
+    @Test
+    void shouldAggregateRangeWithinOneMonthFromTransactions() {
+        LocalDate start = LocalDate.of(2025, 5, 1);
+        LocalDate end = LocalDate.of(2025, 5, 17);
+        when(transactionRepository.sumByMonthTypeAndCategory(userId, start, end)).thenReturn(List.of());
+
+        assertThat(monthlyRollupService.totalsBetween(userId, start, end)).isEmpty();
+        verifyNoInteractions(monthlyRollupRepository);
+    }
+
+    private Transaction transaction(BigDecimal amount) {
+        return Transaction.builder()
+                .userProfile(UserProfile.builder().id(userId).build())
+                .title("Groceries")
+                .amountTry(amount)
+                .date(LocalDate.of(2025, 2, 14))
+                .category(Category.FOOD)
+                .transactionType(TransactionType.EXPENSE)
+                .paymentMethod(PaymentMethod.CARD)
+                .build();
+    }
+
+    private MonthlyRollup rollup(String yearMonth, BigDecimal total, long count) {
+        return MonthlyRollup.builder()
+                .userProfileId(userId)
+                .yearMonth(yearMonth)
+                .transactionType(TransactionType.EXPENSE)
+                .category(Category.FOOD)
+                .paymentMethod(PaymentMethod.CARD)
+                .totalTry(total)
+                .transactionCount(count)
+                .build();
+    }
+}
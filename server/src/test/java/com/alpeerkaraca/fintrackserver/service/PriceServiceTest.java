@@ -1,21 +1,29 @@
 package com.alpeerkaraca.fintrackserver.service;
 
 import com.alpeerkaraca.fintrackserver.dto.InvestmentExternalDto;
+import com.alpeerkaraca.fintrackserver.exception.MarketDataFetchException;
 import com.alpeerkaraca.fintrackserver.model.AssetType;
 import com.alpeerkaraca.fintrackserver.model.MarketAssetType;
 import com.alpeerkaraca.fintrackserver.model.StockMarket;
 import com.alpeerkaraca.fintrackserver.strategy.investments.PriceStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,14 +42,26 @@ class PriceServiceTest {
     @Mock
     private PriceStrategy metalStrategy;
 
+    @Mock
+    private LastKnownPriceService lastKnownPriceService;
+
     private PriceService priceService;
 
     private List<PriceStrategy> strategies;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     void setUp() {
         strategies = Arrays.asList(stockStrategy, fundStrategy, metalStrategy);
-        priceService = new PriceService(strategies);
+        priceService = newPriceService(strategies);
+    }
+
+    private PriceService newPriceService(List<PriceStrategy> strategies) {
+        PriceService service = new PriceService(strategies, lastKnownPriceService, Executors.newVirtualThreadPerTaskExecutor(),
+                meterRegistry);
+        ReflectionTestUtils.setField(service, "staleServeAfterMs", 1000L);
+        return service;
     }
 
     @Test
@@ -123,7 +143,7 @@ class PriceServiceTest {
 
     @Test
     void shouldHandleEmptyStrategyList() {
-        PriceService emptyService = new PriceService(Collections.emptyList());
+        PriceService emptyService = newPriceService(Collections.emptyList());
 
         assertThatThrownBy(() -> emptyService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -203,4 +223,146 @@ class PriceServiceTest {
         verify(stockStrategy, never()).fetchInfo(anyString(), any());
         verify(fundStrategy).fetchInfo("TEST", StockMarket.TEFAS);
     }
+
+    @Test
+    void shouldGetInfosWithSingleStrategyCall() {
+        when(stockStrategy.supports(AssetType.STOCK)).thenReturn(true);
+        when(stockStrategy.fetchInfos(Set.of("AAPL", "MSFT"), StockMarket.NASDAQ))
+                .thenReturn(Map.of(
+                        "AAPL", new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(2000)),
+                        "MSFT", new InvestmentExternalDto("Microsoft", BigDecimal.valueOf(400))));
+
+        Map<String, InvestmentExternalDto> result = priceService.getInfos(AssetType.STOCK, Set.of("AAPL", "MSFT"), StockMarket.NASDAQ);
+
+        assertThat(result).containsOnlyKeys("AAPL", "MSFT");
+        verify(stockStrategy, never()).fetchInfo(anyString(), any());
+    }
+
+    @Test
+    void shouldSkipSymbolsThatFailInDefaultBulkFetch() {
+        PriceStrategy strategy = new PriceStrategy() {
+            @Override
+            public InvestmentExternalDto fetchInfo(String symbol, StockMarket market) {
+                if (symbol.equals("BAD")) {
+                    throw new IllegalStateException("not found");
+                }
+                return new InvestmentExternalDto(symbol, BigDecimal.ONE);
+            }
+
+            @Override
+            public boolean supports(AssetType type) {
+                return type == AssetType.GOLD_SILVER;
+            }
+        };
+
+        Map<String, InvestmentExternalDto> result = newPriceService(List.of(strategy))
+                .getInfos(AssetType.GOLD_SILVER, List.of("altin/gram-altin", "BAD"), null);
+
+        assertThat(result).containsOnlyKeys("altin/gram-altin");
+    }
+
+    @Test
+    void shouldServeLastKnownPriceWhenUpstreamFails() {
+        InvestmentExternalDto lastKnown = new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(190), Instant.parse("2026-01-02T10:00:00Z"));
+        when(stockStrategy.supports(AssetType.STOCK)).thenReturn(true);
+        when(stockStrategy.fetchInfo("AAPL", StockMarket.NASDAQ)).thenThrow(new MarketDataFetchException("Yahoo down"));
+        when(lastKnownPriceService.find(AssetType.STOCK, StockMarket.NASDAQ, List.of("AAPL")))
+                .thenReturn(Map.of("AAPL", lastKnown));
+
+        InvestmentExternalDto result = priceService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ);
+
+        assertThat(result).isEqualTo(lastKnown);
+        assertThat(meterRegistry.get("fintrack.price.fetch")
+                .tags("type", "STOCK", "market", "NASDAQ", "operation", "single", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("fintrack.price.fallbacks").tags("type", "STOCK", "reason", "failed")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRethrowUpstreamFailureWithoutLastKnownPrice() {
+        when(stockStrategy.supports(AssetType.STOCK)).thenReturn(true);
+        when(stockStrategy.fetchInfo("AAPL", StockMarket.NASDAQ)).thenThrow(new MarketDataFetchException("Yahoo down"));
+
+        assertThatThrownBy(() -> priceService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ))
+                .isInstanceOf(MarketDataFetchException.class)
+                .hasMessage("Yahoo down");
+    }
+
+    @Test
+    void shouldServeStaleWhileRevalidatingSlowUpstream() {
+        ReflectionTestUtils.setField(priceService, "staleServeAfterMs", 50L);
+        InvestmentExternalDto lastKnown = new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(190), Instant.parse("2026-01-02T10:00:00Z"));
+        InvestmentExternalDto fresh = new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(200));
+        when(stockStrategy.supports(AssetType.STOCK)).thenReturn(true);
+        when(stockStrategy.fetchInfo("AAPL", StockMarket.NASDAQ)).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return fresh;
+        });
+        when(lastKnownPriceService.find(AssetType.STOCK, StockMarket.NASDAQ, List.of("AAPL")))
+                .thenReturn(Map.of("AAPL", lastKnown));
+
+        InvestmentExternalDto result = priceService.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ);
+
+        assertThat(result).isEqualTo(lastKnown);
+        verify(lastKnownPriceService, timeout(2000)).record(AssetType.STOCK, StockMarket.NASDAQ, Map.of("AAPL", fresh));
+    }
+
+    @Test
+    void shouldFillUnpricedSymbolsFromLastKnownPrices() {
+        InvestmentExternalDto lastKnown = new InvestmentExternalDto("Microsoft", BigDecimal.valueOf(400), Instant.parse("2026-01-02T10:00:00Z"));
+        when(stockStrategy.supports(AssetType.STOCK)).thenReturn(true);
+        when(stockStrategy.fetchInfos(List.of("AAPL", "MSFT"), StockMarket.NASDAQ))
+                .thenReturn(Map.of("AAPL", new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(200))));
+        when(lastKnownPriceService.find(AssetType.STOCK, StockMarket.NASDAQ, List.of("MSFT")))
+                .thenReturn(Map.of("MSFT", lastKnown));
+
+        Map<String, InvestmentExternalDto> result = priceService.getInfos(AssetType.STOCK, List.of("AAPL", "MSFT"), StockMarket.NASDAQ);
+
+        assertThat(result).containsOnlyKeys("AAPL", "MSFT");
+        assertThat(result.get("MSFT")).isEqualTo(lastKnown);
+    }
+
+    @Test
+    void shouldAnswerCachedPricesOnCallingThreadAndStoreThemOnce() {
+        ExecutorService executor = inlineExecutor();
+        PriceService service = new PriceService(strategies, lastKnownPriceService, executor, meterRegistry);
+        InvestmentExternalDto cached = new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(200));
+        when(stockStrategy.supports(AssetType.STOCK)).thenReturn(true);
+        when(stockStrategy.cachedInfos(List.of("AAPL"), StockMarket.NASDAQ)).thenReturn(Map.of("AAPL", cached));
+
+        assertThat(service.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ)).isEqualTo(cached);
+        assertThat(service.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ)).isEqualTo(cached);
+
+        verify(stockStrategy, never()).fetchInfo(anyString(), any());
+        // Only the store write for the first lookup; no fetch handoff and nothing for the second lookup
+        verify(executor, times(1)).execute(any());
+        verify(lastKnownPriceService, times(1)).record(AssetType.STOCK, StockMarket.NASDAQ, Map.of("AAPL", cached));
+    }
+
+    @Test
+    void shouldNotScheduleStoreWriteForAlreadyStoredFetch() {
+        ExecutorService executor = inlineExecutor();
+        PriceService service = new PriceService(strategies, lastKnownPriceService, executor, meterRegistry);
+        ReflectionTestUtils.setField(service, "staleServeAfterMs", 1000L);
+        InvestmentExternalDto fetched = new InvestmentExternalDto("Apple Inc.", BigDecimal.valueOf(200));
+        when(stockStrategy.supports(AssetType.STOCK)).thenReturn(true);
+        when(stockStrategy.fetchInfo("AAPL", StockMarket.NASDAQ)).thenReturn(fetched);
+
+        service.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ);
+        service.getInfo(AssetType.STOCK, "AAPL", StockMarket.NASDAQ);
+
+        // Two fetches and a single store write
+        verify(executor, times(3)).execute(any());
+        verify(lastKnownPriceService, times(1)).record(AssetType.STOCK, StockMarket.NASDAQ, Map.of("AAPL", fetched));
+    }
+
+    private static ExecutorService inlineExecutor() {
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+        return executor;
+    }
 }
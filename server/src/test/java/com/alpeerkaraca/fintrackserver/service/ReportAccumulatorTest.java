@@ -0,0 +1,45 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportAccumulatorTest {
+
+    @Test
+    void shouldSumTotalsPerMonthTypeAndCategoryInMinorUnits() {
+        ReportAccumulator accumulator = new ReportAccumulator(YearMonth.of(2026, 1), YearMonth.of(2026, 3));
+
+        accumulator.add(YearMonth.of(2026, 1), TransactionType.EXPENSE, Category.FOOD, new BigDecimal("0.10"), 1);
+        accumulator.add(YearMonth.of(2026, 3), TransactionType.EXPENSE, Category.FOOD, new BigDecimal("0.20"), 2);
+        accumulator.add(YearMonth.of(2026, 3), TransactionType.INCOME, Category.SALARY, new BigDecimal("1000"), 1);
+
+        assertThat(accumulator.months()).isEqualTo(3);
+        assertThat(accumulator.total(TransactionType.EXPENSE)).isEqualTo(new BigDecimal("0.30"));
+        assertThat(accumulator.total(TransactionType.INCOME)).isEqualTo(new BigDecimal("1000.00"));
+        assertThat(accumulator.monthTotal(1, TransactionType.EXPENSE)).isEqualTo(new BigDecimal("0.00"));
+        assertThat(accumulator.monthTotal(2, TransactionType.EXPENSE)).isEqualTo(new BigDecimal("0.20"));
+        assertThat(accumulator.categoryTotal(TransactionType.EXPENSE, Category.FOOD)).isEqualTo(new BigDecimal("0.30"));
+        assertThat(accumulator.categoryTotal(TransactionType.EXPENSE, Category.RENT)).isNull();
+        assertThat(accumulator.transactionCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldIgnoreRowsOutsideTheRangeAndKeepZeroSumCategories() {
+        ReportAccumulator accumulator = new ReportAccumulator(YearMonth.of(2026, 1), YearMonth.of(2026, 1));
+
+        accumulator.add(YearMonth.of(2025, 12), TransactionType.EXPENSE, Category.FOOD, new BigDecimal("50"), 1);
+        accumulator.add(YearMonth.of(2026, 1), TransactionType.EXPENSE, Category.RENT, new BigDecimal("10"), 1);
+        accumulator.add(YearMonth.of(2026, 1), TransactionType.EXPENSE, Category.RENT, new BigDecimal("-10"), 1);
+
+        assertThat(accumulator.total(TransactionType.EXPENSE)).isEqualByComparingTo("0");
+        assertThat(accumulator.categoryTotal(TransactionType.EXPENSE, Category.FOOD)).isNull();
+        assertThat(accumulator.categoryTotal(TransactionType.EXPENSE, Category.RENT)).isEqualByComparingTo("0");
+        assertThat(accumulator.transactionCount()).isEqualTo(2);
+    }
+}
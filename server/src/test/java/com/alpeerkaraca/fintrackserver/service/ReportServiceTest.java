@@ -0,0 +1,76 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.MonthlyCategoryTotal;
+import com.alpeerkaraca.fintrackserver.dto.frontend.ReportSummaryResponse;
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final LocalDate start = LocalDate.of(2025, 1, 1);
+    private final LocalDate end = LocalDate.of(2025, 3, 31);
+
+    @Test
+    void shouldBuildSummaryFromGroupedTotals() {
+        when(monthlyRollupService.totalsBetween(userId, start, end)).thenReturn(List.of(
+                new MonthlyCategoryTotal(2025, 1, TransactionType.INCOME, Category.SALARY, new BigDecimal("10000.00"), 1L),
+                new MonthlyCategoryTotal(2025, 1, TransactionType.EXPENSE, Category.FOOD, new BigDecimal("1500.00"), 12L),
+                new MonthlyCategoryTotal(2025, 1, TransactionType.EXPENSE, Category.RENT, new BigDecimal("4000.00"), 1L),
+                new MonthlyCategoryTotal(2025, 3, TransactionType.INCOME, Category.SALARY, new BigDecimal("10000.00"), 1L),
+                new MonthlyCategoryTotal(2025, 3, TransactionType.EXPENSE, Category.FOOD, new BigDecimal("2500.50"), 20L)
+        ));
+
+        ReportSummaryResponse summary = reportService.getReportSummary(userId, start, end);
+
+        assertThat(summary.totals().incomeTry()).isEqualByComparingTo("20000.00");
+        assertThat(summary.totals().expenseTry()).isEqualByComparingTo("8000.50");
+        assertThat(summary.totals().netSavingsTry()).isEqualByComparingTo("11999.50");
+        assertThat(summary.totals().savingsRatePct()).isEqualTo(60.0);
+        assertThat(summary.averages().monthlyExpenseTry()).isEqualByComparingTo("2666.83");
+
+        assertThat(summary.monthlySeries()).extracting(ReportSummaryResponse.MonthlySeriesItem::month)
+                .containsExactly("2025-01", "2025-02", "2025-03");
+        assertThat(summary.monthlySeries().get(1).expenseTry()).isEqualByComparingTo("0");
+        assertThat(summary.monthlySeries().get(2).netSavingsTry()).isEqualByComparingTo("7499.50");
+
+        assertThat(summary.categoryBreakdown()).extracting(ReportSummaryResponse.CategoryBreakdownItem::categoryId)
+                .containsExactly("FOOD", "RENT");
+        assertThat(summary.topCategory().totalTry()).isEqualByComparingTo("4000.50");
+        assertThat(summary.metadata().dataPoints().transactions()).isEqualTo(35);
+        assertThat(summary.metadata().dataPoints().months()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReturnZeroTotalsForEmptyRange() {
+        when(monthlyRollupService.totalsBetween(userId, start, end)).thenReturn(List.of());
+
+        ReportSummaryResponse summary = reportService.getReportSummary(userId, start, end);
+
+        assertThat(summary.totals().incomeTry()).isEqualByComparingTo("0");
+        assertThat(summary.totals().savingsRatePct()).isEqualTo(0.0);
+        assertThat(summary.monthlySeries()).hasSize(3);
+        assertThat(summary.categoryBreakdown()).isEmpty();
+        assertThat(summary.topCategory()).isNull();
+    }
+}
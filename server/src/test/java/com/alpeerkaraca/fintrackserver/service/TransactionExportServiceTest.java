@@ -0,0 +1,145 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.ExportFormat;
+import com.alpeerkaraca.fintrackserver.dto.TransactionDto;
+import com.alpeerkaraca.fintrackserver.dto.TransactionFilter;
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.InstallmentMeta;
+import com.alpeerkaraca.fintrackserver.model.PaymentMethod;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private TransactionExportService exportService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final TransactionFilter filter = TransactionFilter.builder().build();
+    private final UUID groceriesId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID laptopId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TransactionExportService(transactionService, JsonMapper.builder().build());
+        List<TransactionDto> rows = List.of(
+                TransactionDto.builder()
+                        .id(groceriesId)
+                        .title("Groceries, \"weekly\"")
+                        .amountTry(new BigDecimal("250.50"))
+                        .date("2025-03-05")
+                        .category(Category.FOOD)
+                        .type(TransactionType.EXPENSE)
+                        .paymentMethod(PaymentMethod.CASH)
+                        .isInstallment(false)
+                        .build(),
+                TransactionDto.builder()
+                        .id(laptopId)
+                        .title("Laptop")
+                        .amountTry(new BigDecimal("1000.00"))
+                        .date("2025-02-01")
+                        .category(Category.SHOPPING)
+                        .type(TransactionType.EXPENSE)
+                        .paymentMethod(PaymentMethod.CARD)
+                        .isInstallment(true)
+                        .installmentMeta(new InstallmentMeta(new BigDecimal("3000.00"), 3, "2025-02", "2025-04"))
+                        .build());
+        givenRows(rows);
+    }
+
+    @Test
+    void shouldWriteCsvWithHeaderAndEscapedFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(userId, filter, ExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                TransactionExportService.CSV_HEADER,
+                groceriesId + ",2025-03-05,\"Groceries, \"\"weekly\"\"\",250.50,FOOD,expense,cash,false,,,",
+                laptopId + ",2025-02-01,Laptop,1000.00,SHOPPING,expense,card,true,3000.00,3,2025-02");
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(userId, filter, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"title\":\"Groceries, \\\"weekly\\\"\"");
+        assertThat(lines[1]).contains("\"startMonth\":\"2025-02\"");
+    }
+
+    @Test
+    void shouldNeutralizeFormulaTitlesInCsv() throws Exception {
+        givenRows(List.of(
+                titled("=HYPERLINK(\"http://example.com\")"),
+                titled("+cmd|' /C calc'!A0"),
+                titled("-2+3"),
+                titled("@SUM(A1:A2)"),
+                titled("\tTab"),
+                titled("'=SUM(A1)"),
+                titled("Rent - March")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(userId, filter, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(8);
+        assertThat(lines[1]).contains(",\"'=HYPERLINK(\"\"http://example.com\"\")\",");
+        assertThat(lines[2]).contains(",'+cmd|' /C calc'!A0,");
+        assertThat(lines[3]).contains(",'-2+3,");
+        assertThat(lines[4]).contains(",'@SUM(A1:A2),");
+        assertThat(lines[5]).contains(",'\tTab,");
+        assertThat(lines[6]).contains(",''=SUM(A1),");
+        assertThat(lines[7]).contains(",Rent - March,");
+        assertThat(TransactionExportService.unescapeFormula("'=HYPERLINK(1)")).isEqualTo("=HYPERLINK(1)");
+        assertThat(TransactionExportService.unescapeFormula("'quoted'")).isEqualTo("'quoted'");
+        for (String title : List.of("=1+1", "'=1+1", "''x", "'quoted'", "'", "plain")) {
+            assertThat(TransactionExportService.unescapeFormula(TransactionExportService.escapeFormula(title)))
+                    .isEqualTo(title);
+        }
+    }
+
+    private void givenRows(List<TransactionDto> rows) {
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionDto> action = invocation.getArgument(2);
+            rows.forEach(action);
+            return null;
+        }).when(transactionService).forEachFilteredTransaction(eq(userId), eq(filter), any());
+    }
+
+    private static TransactionDto titled(String title) {
+        return TransactionDto.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .amountTry(new BigDecimal("1.00"))
+                .date("2025-03-05")
+                .category(Category.FOOD)
+                .type(TransactionType.EXPENSE)
+                .paymentMethod(PaymentMethod.CASH)
+                .isInstallment(false)
+                .build();
+    }
+}
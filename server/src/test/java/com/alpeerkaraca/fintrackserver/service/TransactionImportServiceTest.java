@@ -0,0 +1,231 @@
+package com.alpeerkaraca.fintrackserver.service;
+
+import com.alpeerkaraca.fintrackserver.dto.BulkImportResult;
+import com.alpeerkaraca.fintrackserver.exception.BulkImportException;
+import com.alpeerkaraca.fintrackserver.exception.UserNotFoundException;
+import com.alpeerkaraca.fintrackserver.model.Category;
+import com.alpeerkaraca.fintrackserver.model.PaymentMethod;
+import com.alpeerkaraca.fintrackserver.model.Transaction;
+import com.alpeerkaraca.fintrackserver.model.TransactionType;
+import com.alpeerkaraca.fintrackserver.model.UserProfile;
+import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
+import com.alpeerkaraca.fintrackserver.repository.UserProfileRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceTest {
+    private static final String CSV_HEADER = "date,title,amountTry,category,type,paymentMethod,isInstallment,"
+            + "installmentTotalTry,installmentMonths,installmentStartMonth\n";
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private TransactionImportService importService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final List<Transaction> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new TransactionImportService(transactionRepository, userProfileRepository, monthlyRollupService,
+                cacheService, entityManager, JsonMapper.builder().build(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void shouldInsertCsvInBatchesAndEvictCachesOnce() throws Exception {
+        givenUser();
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < 250; i++) {
+            csv.append("2025-03-05,Coffee ").append(i).append(",45.00,FOOD,expense,card,false,,,\n");
+        }
+
+        BulkImportResult result = importService.importCsv(userId, body(csv.toString()));
+
+        assertThat(result.imported()).isEqualTo(250);
+        assertThat(saved).hasSize(250);
+        verify(transactionRepository, times(3)).saveAll(anyList());
+        verify(monthlyRollupService, times(3)).recordAll(anyList());
+        verify(entityManager, times(3)).clear();
+        verify(cacheService, times(1)).evictAllUserCaches(userId);
+    }
+
+    @Test
+    void shouldReadQuotedCsvFieldsAndInstallments() throws Exception {
+        givenUser();
+        String csv = CSV_HEADER
+                + "2025-03-05,\"Groceries, \"\"weekly\"\"\",250.50,food,EXPENSE,CASH,false,,,\r\n"
+                + "\n"
+                + "2025-02-01,Laptop,1000.00,ELECTRONICS,expense,card,true,3000.00,3,2025-02\r\n";
+
+        importService.importCsv(userId, body(csv));
+
+        assertThat(saved).hasSize(2);
+        assertThat(saved.get(0).getTitle()).isEqualTo("Groceries, \"weekly\"");
+        assertThat(saved.get(0).getDate()).isEqualTo(LocalDate.of(2025, 3, 5));
+        assertThat(saved.get(0).getCategory()).isEqualTo(Category.FOOD);
+        assertThat(saved.get(0).getPaymentMethod()).isEqualTo(PaymentMethod.CASH);
+        assertThat(saved.get(1).getAmountTry()).isEqualByComparingTo("1000.00");
+        assertThat(saved.get(1).getIsInstallment()).isTrue();
+        assertThat(saved.get(1).getInstallmentMeta().getMonths()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRestoreTitlesEscapedByTheExport() throws Exception {
+        givenUser();
+        String csv = CSV_HEADER
+                + "2025-03-05,'=HYPERLINK(1),45.00,FOOD,expense,card,false,,,\n"
+                + "2025-03-06,''=SUM(A1),45.00,FOOD,expense,card,false,,,\n"
+                + "2025-03-07,'quoted',45.00,FOOD,expense,card,false,,,\n";
+
+        importService.importCsv(userId, body(csv));
+
+        assertThat(saved).extracting(Transaction::getTitle).containsExactly("=HYPERLINK(1)", "'=SUM(A1)", "'quoted'");
+    }
+
+    @Test
+    void shouldRejectWholeImportWhenARowIsInvalid() {
+        givenUser();
+        String csv = CSV_HEADER
+                + "2025-03-05,Coffee,45.00,FOOD,expense,card,false,,,\n"
+                + "2025-03-06,Snack,12.00,SNACKS,expense,card,false,,,\n"
+                + "2025-03-07,Refund,0,FOOD,expense,card,false,,,\n"
+                + "2025-02-30,Tea,20.00,FOOD,expense,card,false,,,\n";
+
+        assertThatThrownBy(() -> importService.importCsv(userId, body(csv)))
+                .isInstanceOf(BulkImportException.class)
+                .extracting(e -> ((BulkImportException) e).getErrors())
+                .isEqualTo(List.of(
+                        "row 2: category has an invalid value: SNACKS",
+                        "row 3: amountTry amount must be positive",
+                        "row 4: date is not a valid date"));
+        verify(transactionRepository, never()).saveAll(anyList());
+        verify(cacheService, never()).evictAllUserCaches(any());
+    }
+
+    @Test
+    void shouldRollBackWhenUploadFailsAfterFirstBatch() throws Exception {
+        givenUser();
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < 150; i++) {
+            csv.append("2025-03-05,Coffee ").append(i).append(",45.00,FOOD,expense,card,false,,,\n");
+        }
+        InputStream upload = new SequenceInputStream(body(csv.toString()), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        assertThatThrownBy(() -> importService.importCsv(userId, upload))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Connection reset");
+        verify(transactionRepository, times(1)).saveAll(anyList());
+        verify(cacheService, never()).evictAllUserCaches(any());
+        Method importCsv = TransactionImportService.class.getMethod("importCsv", UUID.class, InputStream.class);
+        Method importJson = TransactionImportService.class.getMethod("importJson", UUID.class, InputStream.class);
+        assertThat(importCsv.getAnnotation(Transactional.class).rollbackFor()).contains(IOException.class);
+        assertThat(importJson.getAnnotation(Transactional.class).rollbackFor()).contains(IOException.class);
+    }
+
+    @Test
+    void shouldRejectCsvWithoutRequiredColumns() {
+        assertThatThrownBy(() -> importService.importCsv(userId, body("date,title\n2025-03-05,Coffee\n")))
+                .isInstanceOf(BulkImportException.class)
+                .hasMessage("CSV header is missing columns: amountTry, category, type, paymentMethod");
+        verifyNoInteractions(transactionRepository, userProfileRepository);
+    }
+
+    @Test
+    void shouldImportJsonArray() throws Exception {
+        givenUser();
+        String json = """
+                [
+                  {"title": "Salary", "amountTry": 50000, "date": "2025-03-01", "category": "SALARY",
+                   "type": "income", "paymentMethod": "transfer", "isInstallment": false},
+                  {"title": "Phone", "amountTry": 1, "date": "2025-03-02", "category": "ELECTRONICS",
+                   "type": "expense", "paymentMethod": "card", "isInstallment": true,
+                   "installmentMeta": {"totalTry": 1200, "months": 12, "startMonth": "2025-03"}}
+                ]
+                """;
+
+        BulkImportResult result = importService.importJson(userId, body(json));
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(saved).extracting(Transaction::getTransactionType)
+                .containsExactly(TransactionType.INCOME, TransactionType.EXPENSE);
+        assertThat(saved.get(1).getAmountTry()).isEqualByComparingTo(new BigDecimal("100.00"));
+        verify(cacheService).evictAllUserCaches(userId);
+    }
+
+    @Test
+    void shouldRejectMalformedJson() {
+        when(userProfileRepository.existsById(userId)).thenReturn(true);
+        when(userProfileRepository.getReferenceById(userId)).thenReturn(UserProfile.builder().id(userId).build());
+
+        assertThatThrownBy(() -> importService.importJson(userId, body("[{\"title\": \"Salary\",")))
+                .isInstanceOf(BulkImportException.class)
+                .hasMessageStartingWith("row 1: malformed JSON");
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldRejectImportForUnknownUser() {
+        when(userProfileRepository.existsById(userId)).thenReturn(false);
+
+        assertThatThrownBy(() -> importService.importCsv(userId, body(CSV_HEADER)))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+    private void givenUser() {
+        when(userProfileRepository.existsById(userId)).thenReturn(true);
+        when(userProfileRepository.getReferenceById(userId)).thenReturn(UserProfile.builder().id(userId).build());
+        lenient().when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Transaction> batch = invocation.getArgument(0);
+            saved.addAll(batch);
+            return batch;
+        });
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
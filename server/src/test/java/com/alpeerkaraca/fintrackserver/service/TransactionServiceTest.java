@@ -1,7 +1,11 @@
 package com.alpeerkaraca.fintrackserver.service;
 
+import com.alpeerkaraca.fintrackserver.dto.CursorSlice;
+import com.alpeerkaraca.fintrackserver.dto.TransactionCursor;
 import com.alpeerkaraca.fintrackserver.dto.TransactionDto;
 import com.alpeerkaraca.fintrackserver.dto.TransactionFilter;
+import com.alpeerkaraca.fintrackserver.dto.TransactionRow;
+import com.alpeerkaraca.fintrackserver.exception.InvalidCursorException;
 import com.alpeerkaraca.fintrackserver.model.*;
 import com.alpeerkaraca.fintrackserver.repository.TransactionRepository;
 import com.alpeerkaraca.fintrackserver.repository.UserProfileRepository;
@@ -19,6 +23,7 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -34,12 +39,19 @@ class TransactionServiceTest {
     @Mock
     private UserProfileRepository userProfileRepository;
 
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
     @InjectMocks
     private TransactionService transactionService;
 
     private UUID testUserId;
     private UserProfile testUser;
     private Transaction testTransaction;
+    private TransactionRow testRow;
     private Pageable testPageable;
 
     @BeforeEach
@@ -63,6 +75,8 @@ class TransactionServiceTest {
                 .paymentMethod(PaymentMethod.CASH)
                 .build();
 
+        testRow = row(testTransaction.getId(), "Test Transaction", testTransaction.getDate());
+
         testPageable = PageRequest.of(0, 10);
     }
 
@@ -87,15 +101,15 @@ class TransactionServiceTest {
                 .expanded(true)
                 .build();
 
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction));
-        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         Page<TransactionDto> result = transactionService.getFilteredTransactions(testUserId, filter, testPageable, true);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        verify(transactionRepository).findAll(any(Specification.class), any(Pageable.class));
+        verify(transactionRepository).findRows(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -115,13 +129,13 @@ class TransactionServiceTest {
                 .year(2024)
                 .build();
 
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction));
-        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         transactionService.getFilteredTransactions(testUserId, filter, testPageable, false);
 
-        verify(transactionRepository).findAll(any(Specification.class), any(Pageable.class));
+        verify(transactionRepository).findRows(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -130,8 +144,8 @@ class TransactionServiceTest {
                 .category("Food")
                 .build();
 
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction));
-        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         Page<TransactionDto> result = transactionService.getFilteredTransactions(testUserId, filter, testPageable, false);
@@ -145,8 +159,8 @@ class TransactionServiceTest {
                 .type(TransactionType.EXPENSE)
                 .build();
 
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction));
-        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         Page<TransactionDto> result = transactionService.getFilteredTransactions(testUserId, filter, testPageable, false);
@@ -159,21 +173,34 @@ class TransactionServiceTest {
         Pageable sortedPageable = PageRequest.of(0, 10, org.springframework.data.domain.Sort.by("date").ascending());
         TransactionFilter filter = TransactionFilter.builder().build();
 
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction));
-        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         transactionService.getFilteredTransactions(testUserId, filter, sortedPageable, true);
 
-        verify(transactionRepository).findAll(any(Specification.class), eq(sortedPageable));
+        verify(transactionRepository).findRows(any(Specification.class), eq(sortedPageable));
+    }
+
+    @Test
+    void shouldKeepRelevanceOrderForTitleSearch() {
+        TransactionFilter filter = TransactionFilter.builder().q("netflix").build();
+
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
+                .thenReturn(page);
+
+        transactionService.getFilteredTransactions(testUserId, filter, testPageable, true);
+
+        verify(transactionRepository).findRows(any(Specification.class), eq(testPageable));
     }
 
     @Test
     void shouldHandleNullFilter() {
         TransactionFilter filter = TransactionFilter.builder().build();
 
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction));
-        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         Page<TransactionDto> result = transactionService.getFilteredTransactions(testUserId, filter, testPageable, false);
@@ -204,8 +231,8 @@ class TransactionServiceTest {
     void shouldConvertToDto() {
         TransactionFilter filter = TransactionFilter.builder().build();
         
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction));
-        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         Page<TransactionDto> result = transactionService.getFilteredTransactions(testUserId, filter, testPageable, false);
@@ -225,14 +252,14 @@ class TransactionServiceTest {
                 .expanded(true)
                 .build();
 
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction));
-        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         Page<TransactionDto> result = transactionService.getFilteredTransactions(testUserId, filter, testPageable, false);
 
         assertThat(result).isNotNull();
-        verify(transactionRepository).findAll(any(Specification.class), any(Pageable.class));
+        verify(transactionRepository).findRows(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -259,13 +286,96 @@ class TransactionServiceTest {
                 .expanded(false)
                 .build();
 
-        Page<Transaction> page = new PageImpl<>(Arrays.asList(testTransaction));
-        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<TransactionRow> page = new PageImpl<>(Arrays.asList(testRow));
+        when(transactionRepository.findRows(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         transactionService.getFilteredTransactions(testUserId, filterExpanded, testPageable, false);
         transactionService.getFilteredTransactions(testUserId, filterNotExpanded, testPageable, false);
 
-        verify(transactionRepository, times(2)).findAll(any(Specification.class), any(Pageable.class));
+        verify(transactionRepository, times(2)).findRows(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void shouldRecordCreatedTransactionInMonthlyRollup() {
+        TransactionDto dto = TransactionDto.builder()
+                .title("Groceries")
+                .amountTry(BigDecimal.valueOf(250))
+                .date("2024-05-10")
+                .category(Category.FOOD)
+                .type(TransactionType.EXPENSE)
+                .paymentMethod(PaymentMethod.CARD)
+                .isInstallment(false)
+                .build();
+        when(userProfileRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.createTransaction(testUserId, dto);
+
+        verify(monthlyRollupService).record(argThat(t ->
+                t.getAmountTry().compareTo(BigDecimal.valueOf(250)) == 0 && t.getPaymentMethod() == PaymentMethod.CARD));
+        verify(cacheService).evictAllUserCaches(testUserId);
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreRowsFollow() {
+        TransactionRow second = row(UUID.randomUUID(), "Second", LocalDate.of(2024, 5, 1));
+        TransactionRow third = row(UUID.randomUUID(), "Third", LocalDate.of(2024, 4, 1));
+        when(transactionRepository.findRows(any(Specification.class), any(Sort.class), argThat(limit -> limit.max() == 3)))
+                .thenReturn(List.of(testRow, second, third));
+
+        CursorSlice<TransactionDto> result = transactionService.scrollFilteredTransactions(
+                testUserId, TransactionFilter.builder().build(), null, 2);
+
+        assertThat(result.content()).extracting(TransactionDto::getTitle).containsExactly("Test Transaction", "Second");
+        assertThat(result.hasNext()).isTrue();
+        assertThat(TransactionCursor.decode(result.nextCursor()))
+                .isEqualTo(new TransactionCursor(second.date(), second.id()));
+    }
+
+    @Test
+    void shouldEndScrollOnLastPage() {
+        when(transactionRepository.findRows(any(Specification.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(List.of(testRow));
+
+        CursorSlice<TransactionDto> result = transactionService.scrollFilteredTransactions(
+                testUserId, TransactionFilter.builder().build(),
+                new TransactionCursor(LocalDate.of(2024, 6, 1), UUID.randomUUID()).encode(), 20);
+
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldZeroInstallmentOutsideItsScheduleInListing() {
+        TransactionRow installment = new TransactionRow(UUID.randomUUID(), "Laptop", new BigDecimal("1000.00"),
+                LocalDate.of(2024, 1, 10), Category.SHOPPING, TransactionType.EXPENSE, PaymentMethod.CARD, true,
+                new BigDecimal("3000.00"), 3, "2024-01", "2024-03");
+        when(transactionRepository.findRows(any(Specification.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(List.of(installment));
+
+        List<TransactionDto> inSchedule = transactionService.getFilteredTransactions(
+                testUserId, TransactionFilter.builder().month(2).year(2024).expanded(true).build());
+        List<TransactionDto> afterSchedule = transactionService.getFilteredTransactions(
+                testUserId, TransactionFilter.builder().month(4).year(2024).expanded(true).build());
+
+        assertThat(inSchedule.get(0).getAmountTry()).isEqualByComparingTo("1000.00");
+        assertThat(inSchedule.get(0).getInstallmentMeta().getEndMonth()).isEqualTo("2024-03");
+        assertThat(afterSchedule.get(0).getAmountTry()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        TransactionFilter filter = TransactionFilter.builder().build();
+
+        assertThatThrownBy(() -> transactionService.scrollFilteredTransactions(testUserId, filter, "not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    private TransactionRow row(UUID id, String title, LocalDate date) {
+        return new TransactionRow(id, title, BigDecimal.valueOf(100), date, Category.FOOD, TransactionType.EXPENSE,
+                PaymentMethod.CASH, false, null, null, null, null);
     }
 }